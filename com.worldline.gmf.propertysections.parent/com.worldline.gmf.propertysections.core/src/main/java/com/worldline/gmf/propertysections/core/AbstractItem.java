@@ -1,8 +1,17 @@
 package com.worldline.gmf.propertysections.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.FormData;
 import org.eclipse.swt.layout.FormLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Layout;
 import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetWidgetFactory;
 
 /**
@@ -18,7 +27,21 @@ import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetWidgetFactory;
 public abstract class AbstractItem {
 
 	/**
-	 * Composite Background.
+	 * Style bit creating a flat AbstractItem: no background composite is
+	 * created, and the elements are created directly in the parent composite.
+	 * Their layout data are then interpreted by the parent's layout.
+	 */
+	public static final int FLAT = 1 << 0;
+
+	/**
+	 * Style bit creating a deferred AbstractItem: the constructor only keeps
+	 * its parameters, and the graphical elements are created, laid out and
+	 * wired when materialize() is called, usually by the AbstractZone.
+	 */
+	public static final int DEFERRED = 1 << 1;
+
+	/**
+	 * Composite Background. Null for flat items.
 	 */
 	private Composite backGround = null;
 
@@ -27,6 +50,21 @@ public abstract class AbstractItem {
 	 */
 	private Composite parent = null;
 
+	/**
+	 * Style bits of this AbstractItem
+	 */
+	private final int style;
+
+	/**
+	 * Controls created by this AbstractItem in its parent, for flat items.
+	 */
+	private Control[] controls;
+
+	/**
+	 * Tells if the graphical elements of this AbstractItem have been created.
+	 */
+	private boolean materialized = false;
+
 	/**
 	 * Tells if BackGround (full AbstractItem) should be visible or not.
 	 */
@@ -51,27 +89,96 @@ public abstract class AbstractItem {
 	 *            Instance used to create Elements.
 	 */
 	public AbstractItem(Composite parent, TabbedPropertySheetWidgetFactory widgetFactory) {
+		this(parent, widgetFactory, SWT.NONE);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param parent :
+	 *            Parent in which this AbstractItem will be drawn
+	 * @param widgetFactory :
+	 *            Instance used to create Elements.
+	 * @param style :
+	 *            Style bits of this AbstractItem (SWT.NONE, or a combination of
+	 *            FLAT and DEFERRED)
+	 */
+	public AbstractItem(Composite parent, TabbedPropertySheetWidgetFactory widgetFactory, int style) {
 
 		this.parent = parent;
 		this.widgetFactory = widgetFactory;
+		this.style = style;
 
-		this.backGround = widgetFactory.createComposite(this.parent);
-		this.backGround.setLayout(new FormLayout());
+		if ((style & DEFERRED) == 0)
+			materialize();
+	}
 
-		initElements();
+	/**
+	 * Creates the graphical elements of this AbstractItem, their layouts and
+	 * their listeners. This is done by the constructor, unless the
+	 * AbstractItem is DEFERRED. Calling this method more than once has no
+	 * effect.
+	 */
+	public final void materialize() {
+		if (this.materialized)
+			return;
+		this.materialized = true;
+
+		if (isFlat()) {
+			Set<Control> existing = new HashSet<Control>(Arrays.asList(this.parent.getChildren()));
+			initElements();
+			List<Control> created = new ArrayList<Control>();
+			for (Control child : this.parent.getChildren())
+				if (!existing.contains(child))
+					created.add(child);
+			this.controls = created.toArray(new Control[created.size()]);
+		} else {
+			this.backGround = widgetFactory.createComposite(this.parent);
+			this.backGround.setLayout(createLayout());
+			initElements();
+		}
 		setLayoutsToElements();
 		setListenersToElements();
+		if (!this.isVisible)
+			makeVisible();
 	}
 
 	/**
-	 * Default method used to reload this AbstractItem
+	 * Tells if the graphical elements of this AbstractItem have been created
+	 * 
+	 * @return true if created, false if still deferred
+	 */
+	public final boolean isMaterialized() {
+		return this.materialized;
+	}
+
+	/**
+	 * Creates the layout of this AbstractItem's background. Returns a
+	 * FormLayout by default.
+	 * 
+	 * @return Layout of the background
+	 */
+	protected Layout createLayout() {
+		return new FormLayout();
+	}
+
+	/**
+	 * Default method used to reload this AbstractItem. The paint of the
+	 * AbstractItem is scheduled with the other items of the section, and
+	 * processed once all of them are reloaded.
 	 * 
 	 */
 	public void load() {
+		if (!this.materialized)
+			return;
 		makeVisible();
-		if (isVisible())
-			backGround.update();
-
+		if (isVisible()) {
+			PaintScheduler paintScheduler = PaintScheduler.find(getContainer());
+			if (paintScheduler != null)
+				paintScheduler.schedule();
+			else
+				getContainer().update();
+		}
 	}
 
 	/**
@@ -90,8 +197,41 @@ public abstract class AbstractItem {
 	 * 
 	 */
 	public final void makeVisible() {
-		backGround.setEnabled(this.isVisible);
-		backGround.setVisible(this.isVisible);
+		if (!this.materialized)
+			return;
+		if (isFlat()) {
+			for (Control control : this.controls) {
+				if (!control.isDisposed()) {
+					control.setEnabled(this.isVisible);
+					control.setVisible(this.isVisible);
+				}
+			}
+		} else {
+			backGround.setEnabled(this.isVisible);
+			backGround.setVisible(this.isVisible);
+		}
+	}
+
+	/**
+	 * Tells if this AbstractItem is flat, i.e. if its elements are created
+	 * directly in the parent composite.
+	 * 
+	 * @return true if flat, false otherwise
+	 */
+	public final boolean isFlat() {
+		return (this.style & FLAT) != 0;
+	}
+
+	/**
+	 * Gets the controls making this AbstractItem: the controls created in the
+	 * parent for a flat item, the background's children otherwise.
+	 * 
+	 * @return Controls of this AbstractItem
+	 */
+	public Control[] getControls() {
+		if (!this.materialized)
+			return new Control[0];
+		return isFlat() ? this.controls.clone() : backGround.getChildren();
 	}
 
 	/**
@@ -132,14 +272,110 @@ public abstract class AbstractItem {
 	protected abstract void updateValues();
 
 	/**
-	 * Gets this AbstractItem's background
+	 * Tells whether this AbstractItem can be kept in the ItemPool when its
+	 * section is disposed, and reused by another section. A recyclable
+	 * AbstractItem must remove in removeListenersFromElements() all the
+	 * listeners added in setListenersToElements(). When it is reused, its
+	 * elements get the colors of the new widget factory and the default font:
+	 * specific fonts or colors must be applied again in updateValues(). It is
+	 * only pooled if its zone recycles items too. Returns false by default.
+	 * 
+	 * @return true if recyclable, false otherwise
+	 */
+	protected boolean isRecyclable() {
+		return false;
+	}
+
+	/**
+	 * Method which purpose is to remove the listeners set by
+	 * setListenersToElements(), before this AbstractItem is pooled. Does
+	 * nothing by default.
 	 * 
-	 * @return Composite standing for AbstractItem's background
+	 */
+	protected void removeListenersFromElements() {
+	}
+
+	/**
+	 * Moves the background of this AbstractItem to the parking composite of
+	 * the ItemPool.
+	 * 
+	 * @param parking :
+	 *            composite holding the pooled items
+	 * @return true if the background could be moved
+	 */
+	final boolean detach(Composite parking) {
+		if (!backGround.isReparentable())
+			return false;
+		removeListenersFromElements();
+		if (!backGround.setParent(parking)) {
+			setListenersToElements();
+			return false;
+		}
+		this.parent = parking;
+		return true;
+	}
+
+	/**
+	 * Moves the background of this pooled AbstractItem to a new parent, styles
+	 * its elements with the colors of the new widget factory, and wires its
+	 * listeners again.
+	 * 
+	 * @param parent :
+	 *            new parent of this AbstractItem
+	 * @param widgetFactory :
+	 *            widget factory of the new parent
+	 */
+	final void reattach(Composite parent, TabbedPropertySheetWidgetFactory widgetFactory) {
+		backGround.setParent(parent);
+		backGround.setLayoutData(null);
+		this.parent = parent;
+		this.widgetFactory = widgetFactory;
+		restyle(backGround);
+		setListenersToElements();
+		setVisible(true);
+	}
+
+	/**
+	 * Applies the colors of the current widget factory, and the font of the
+	 * parent, to a control and its children, replacing the ones of the
+	 * section the control was created for.
+	 * 
+	 * @param control :
+	 *            control to style
+	 */
+	private void restyle(Control control) {
+		control.setBackground(widgetFactory.getColors().getBackground());
+		control.setForeground(widgetFactory.getColors().getForeground());
+		control.setFont(parent.getFont());
+		if (control instanceof Composite)
+			for (Control child : ((Composite) control).getChildren())
+				restyle(child);
+	}
+
+	/**
+	 * Gets this AbstractItem's background. A flat AbstractItem has no
+	 * background: the zone holding it must lay out the controls returned by
+	 * getControls() instead. For a deferred AbstractItem, this is null until
+	 * materialized.
+	 * 
+	 * @return Composite standing for AbstractItem's background, or null for a
+	 *         flat AbstractItem
 	 */
 	public Composite getBackGround() {
 		return backGround;
 	}
 
+	/**
+	 * Gets the composite in which the elements of this AbstractItem are
+	 * created: the background, or the parent composite for a flat
+	 * AbstractItem. Subclasses must create their elements in this composite.
+	 * 
+	 * @return Composite containing the elements of this AbstractItem
+	 */
+	protected final Composite getContainer() {
+		return isFlat() ? parent : backGround;
+	}
+
 	/**
 	 * Gets the Widget Factory Instance
 	 * 
@@ -0,0 +1,152 @@
+package com.worldline.gmf.propertysections.core;
+
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.List;
+import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetWidgetFactory;
+
+import com.worldline.gmf.propertysections.core.tools.FormDataBuilder;
+
+/**
+ * AbstractItem displaying the values of a multi-valued feature in a list
+ * widget. The whole list is only built by setValues(); afterwards, the list
+ * deltas received by the zone are applied to the widget entry by entry, in a
+ * time proportional to the size of the delta.
+ *
+ * The default implementation of AbstractZone.getDeltaFeatures() and
+ * AbstractZone.applyListDelta() routes the deltas of the feature returned by
+ * getFeature() to this AbstractListItem.
+ *
+ * @since 1.0.1
+ */
+public abstract class AbstractListItem extends AbstractItem {
+
+	/**
+	 * List widget displaying the values
+	 */
+	private List list;
+
+	/**
+	 * Constructor
+	 *
+	 * @param parent :
+	 *            Parent in which this AbstractListItem will be drawn
+	 * @param widgetFactory :
+	 *            Instance used to create Elements.
+	 */
+	public AbstractListItem(Composite parent, TabbedPropertySheetWidgetFactory widgetFactory) {
+		super(parent, widgetFactory);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param parent :
+	 *            Parent in which this AbstractListItem will be drawn
+	 * @param widgetFactory :
+	 *            Instance used to create Elements.
+	 * @param style :
+	 *            Style bits of this AbstractItem (SWT.NONE, or a combination of
+	 *            FLAT and DEFERRED)
+	 */
+	public AbstractListItem(Composite parent, TabbedPropertySheetWidgetFactory widgetFactory, int style) {
+		super(parent, widgetFactory, style);
+	}
+
+	/**
+	 * @return the multi-valued feature displayed by this AbstractListItem
+	 */
+	public abstract EStructuralFeature getFeature();
+
+	/**
+	 * Returns the text displayed for a value of the list
+	 *
+	 * @param value :
+	 *            value of the list
+	 * @return text of the value
+	 */
+	protected abstract String getText(Object value);
+
+	/**
+	 * Creates the list widget. Subclasses creating more elements should call
+	 * this implementation.
+	 */
+	@Override
+	protected void initElements() {
+		list = getWidgetFactory().createList(getContainer(), SWT.BORDER | SWT.V_SCROLL | SWT.MULTI);
+	}
+
+	/**
+	 * Makes the list widget fill the background.
+	 */
+	@Override
+	protected void setLayoutsToElements() {
+		FormDataBuilder.on(list).fill();
+	}
+
+	/**
+	 * Does nothing by default.
+	 */
+	@Override
+	protected void setListenersToElements() {
+	}
+
+	/**
+	 * @return the list widget displaying the values, or null if this
+	 *         AbstractListItem is not materialized
+	 */
+	public final List getList() {
+		return list;
+	}
+
+	/**
+	 * Displays all the values of the list again
+	 *
+	 * @param values :
+	 *            values of the feature
+	 */
+	public final void setValues(java.util.List<?> values) {
+		if (list == null || list.isDisposed())
+			return;
+		String[] texts = new String[values.size()];
+		for (int i = 0; i < texts.length; i++)
+			texts[i] = getText(values.get(i));
+		list.setItems(texts);
+	}
+
+	/**
+	 * Applies a change of the feature to the list widget, without reading the
+	 * other values. A delta which does not match the displayed entries is
+	 * ignored: the widget is then brought back in line by the next
+	 * setValues().
+	 *
+	 * @param delta :
+	 *            change of the feature
+	 */
+	public void applyListDelta(ListDelta delta) {
+		if (list == null || list.isDisposed())
+			return;
+		int position = delta.getPosition();
+		int itemCount = list.getItemCount();
+		switch (delta.getKind()) {
+		case ListDelta.ADD:
+			if (position > itemCount)
+				return;
+			for (int i = 0; i < delta.getCount(); i++)
+				list.add(getText(delta.getValues().get(i)), position + i);
+			break;
+		case ListDelta.REMOVE:
+			if (position + delta.getCount() > itemCount)
+				return;
+			list.remove(position, position + delta.getCount() - 1);
+			break;
+		case ListDelta.MOVE:
+			if (delta.getOldPosition() >= itemCount || position >= itemCount)
+				return;
+			list.remove(delta.getOldPosition());
+			list.add(getText(delta.getValues().get(0)), position);
+			break;
+		}
+	}
+}
@@ -0,0 +1,266 @@
+package com.worldline.gmf.propertysections.core;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.ScrollBar;
+
+import com.worldline.gmf.propertysections.core.tools.FormDataBuilder;
+
+/**
+ * AbstractZone rendering a multi-valued feature of the selected EObject as a
+ * virtual list of item rows. Only the rows visible in the viewport are
+ * created; they are bound again to other values when the list is scrolled.
+ * Changes of the list (ADD, REMOVE, MOVE...) are received as list deltas, and
+ * only rebind the visible rows they affect, without rebuilding the zone.
+ * 
+ * Rows all have the same height, and must not be flat items, since the zone
+ * positions their background.
+ * 
+ * @since 1.0.1
+ */
+public abstract class AbstractListZone<T extends AbstractItem> extends AbstractZone {
+
+	/**
+	 * Composite holding the rows
+	 */
+	private final Composite viewport;
+
+	/**
+	 * Rows currently alive
+	 */
+	private final List<T> rows = new ArrayList<T>();
+
+	/**
+	 * Index of the value displayed by the first row
+	 */
+	private int firstIndex = 0;
+
+	/**
+	 * EObject which list is displayed, weakly held so that it can be collected
+	 * once its editor is closed
+	 */
+	private WeakReference<EObject> displayedEObject = new WeakReference<EObject>(null);
+
+	/**
+	 * Constructor
+	 * 
+	 * @param parent :
+	 *            parent composite
+	 * @param isGroup :
+	 *            true creates a Group, false creates a standard Composite.
+	 */
+	public AbstractListZone(Composite parent, boolean isGroup) {
+		super(parent, isGroup);
+		viewport = getWidgetFactory().createComposite(getZone(), SWT.V_SCROLL);
+	}
+
+	/**
+	 * @return the multi-valued feature displayed by this zone
+	 */
+	protected abstract EStructuralFeature getFeature();
+
+	/**
+	 * Creates a new row.
+	 * 
+	 * @param parent :
+	 *            composite in which the row has to be created
+	 * @return new row
+	 */
+	protected abstract T createRow(Composite parent);
+
+	/**
+	 * Binds a row to a value of the list. Called each time a row displays
+	 * another value, or when its value changed.
+	 * 
+	 * @param row :
+	 *            row to bind
+	 * @param value :
+	 *            value of the list
+	 * @param index :
+	 *            index of the value in the list
+	 */
+	protected abstract void bindRow(T row, Object value, int index);
+
+	/**
+	 * @return the height of a row, in pixels
+	 */
+	protected int getRowHeight() {
+		return 30;
+	}
+
+	/**
+	 * @return the number of rows used to compute the preferred height of the
+	 *         zone
+	 */
+	protected int getVisibleRowCount() {
+		return 8;
+	}
+
+	/**
+	 * @return the composite holding the rows
+	 */
+	protected final Composite getViewport() {
+		return viewport;
+	}
+
+	/**
+	 * Rows are created on demand, when the viewport is laid out.
+	 */
+	@Override
+	public void addItemsToZone() {
+	}
+
+	/**
+	 * Makes the viewport fill the zone.
+	 */
+	@Override
+	public void addLayoutsToItems() {
+		FormDataBuilder.on(viewport).fill().height(getVisibleRowCount() * getRowHeight());
+	}
+
+	/**
+	 * Wires the scroll bar and the resize of the viewport.
+	 */
+	@Override
+	public void addListenersToItems() {
+		Listener listener = new Listener() {
+			public void handleEvent(Event event) {
+				if (event.type == SWT.Selection)
+					firstIndex = viewport.getVerticalBar().getSelection();
+				refreshRows();
+			}
+		};
+		viewport.addListener(SWT.Resize, listener);
+		viewport.getVerticalBar().addListener(SWT.Selection, listener);
+	}
+
+	/**
+	 * Binds the visible rows to the list of the selected EObject. The list is
+	 * displayed from its first value when the selected EObject changes.
+	 */
+	@Override
+	public void updateItemsValues() {
+		if (getEObject() != displayedEObject.get()) {
+			displayedEObject = new WeakReference<EObject>(getEObject());
+			firstIndex = 0;
+		}
+		refreshRows();
+	}
+
+	/**
+	 * @return the displayed feature, which changes are received as list deltas
+	 */
+	@Override
+	protected Collection<EStructuralFeature> getDeltaFeatures() {
+		return Collections.singleton(getFeature());
+	}
+
+	/**
+	 * @return the values of the displayed feature, or an empty list
+	 */
+	protected final List<?> getValues() {
+		EObject eObject = getEObject();
+		if (eObject == null || !getFeature().isMany()
+				|| !eObject.eClass().getEAllStructuralFeatures().contains(getFeature()))
+			return Collections.emptyList();
+		return (List<?>) eObject.eGet(getFeature());
+	}
+
+	/**
+	 * @return the number of rows the viewport can display
+	 */
+	private int getViewportRowCount() {
+		int rowHeight = Math.max(1, getRowHeight());
+		return Math.max(1, (viewport.getClientArea().height + rowHeight - 1) / rowHeight);
+	}
+
+	/**
+	 * Creates the missing rows, positions and binds all of them.
+	 */
+	private void refreshRows() {
+		rebindRows(0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Positions the rows, and binds the visible ones displaying a value which
+	 * index is in the given range.
+	 */
+	private void rebindRows(int fromIndex, int toIndex) {
+		List<?> values = getValues();
+		int size = values.size();
+		int visibleRows = getViewportRowCount();
+		int clampedIndex = Math.max(0, Math.min(firstIndex, size - visibleRows));
+		if (clampedIndex != firstIndex) {
+			// all rows display other values
+			firstIndex = clampedIndex;
+			fromIndex = 0;
+			toIndex = Integer.MAX_VALUE;
+		}
+		int existingRows = rows.size();
+		while (rows.size() < Math.min(visibleRows, size))
+			rows.add(createRow(viewport));
+
+		Rectangle area = viewport.getClientArea();
+		int rowHeight = getRowHeight();
+		for (int i = 0; i < rows.size(); i++) {
+			T row = rows.get(i);
+			int index = firstIndex + i;
+			if (i < visibleRows && index < size) {
+				row.getBackGround().setBounds(area.x, area.y + i * rowHeight, area.width, rowHeight);
+				if (!row.isVisible()) {
+					row.setVisible(true);
+					bindRow(row, values.get(index), index);
+				} else if (i >= existingRows || (index >= fromIndex && index <= toIndex))
+					bindRow(row, values.get(index), index);
+			} else if (row.isVisible()) {
+				row.setVisible(false);
+			}
+		}
+
+		ScrollBar scrollBar = viewport.getVerticalBar();
+		scrollBar.setValues(firstIndex, 0, Math.max(size, visibleRows), visibleRows, 1, visibleRows);
+		scrollBar.setEnabled(size > visibleRows);
+	}
+
+	/**
+	 * Applies a change of the displayed list to the rows: the first displayed
+	 * value is kept when values are added or removed above it, and only the
+	 * rows displaying affected indexes are bound again.
+	 * 
+	 * @param delta :
+	 *            change of the list
+	 */
+	@Override
+	protected void applyListDelta(ListDelta delta) {
+		int position = delta.getPosition();
+		switch (delta.getKind()) {
+		case ListDelta.ADD:
+			if (position < firstIndex)
+				firstIndex += delta.getCount();
+			rebindRows(position, Integer.MAX_VALUE);
+			break;
+		case ListDelta.REMOVE:
+			if (position < firstIndex)
+				firstIndex = Math.max(position, firstIndex - delta.getCount());
+			rebindRows(position, Integer.MAX_VALUE);
+			break;
+		case ListDelta.MOVE:
+			int oldPosition = delta.getOldPosition();
+			rebindRows(Math.min(oldPosition, position), Math.max(oldPosition, position));
+			break;
+		default:
+			refreshRows();
+		}
+	}
+}
@@ -1,28 +1,45 @@
 package com.worldline.gmf.propertysections.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.transaction.DemultiplexingListener;
 import org.eclipse.emf.transaction.NotificationFilter;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.Transaction;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.gef.EditPartViewer;
 import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.resources.editor.parts.DiagramDocumentEditor;
 import org.eclipse.gmf.runtime.notation.View;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.FormData;
 import org.eclipse.swt.layout.FormLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Layout;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.ui.IPartListener;
 import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.views.properties.tabbed.AbstractPropertySection;
 import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetPage;
 import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetWidgetFactory;
 
+import com.worldline.gmf.propertysections.core.helpers.CommandBatcher;
+
 /**
  * This class defines a generic AbstractSection. A AbstractSection is an object that will
  * directly added to the Properties View background
@@ -49,6 +66,12 @@ public abstract class AbstractSection extends AbstractPropertySection {
 	 */
 	private Composite backGround = null;
 
+	/**
+	 * Display of the background, kept to remove the display filters once the
+	 * background is disposed
+	 */
+	private Display display;
+
 	/**
 	 * FormData, used to define the Zones position among others.
 	 */
@@ -59,46 +82,420 @@ public abstract class AbstractSection extends AbstractPropertySection {
 	 */
 	private TransactionalEditingDomain editingDomain;
 
+	/**
+	 * Number of listeners currently registered by all the sections on editing
+	 * domains
+	 */
+	private static final AtomicInteger LIVE_REGISTRATIONS = new AtomicInteger();
+
+	/**
+	 * Editing domain on which the listener is currently registered, null if
+	 * not registered
+	 */
+	private TransactionalEditingDomain registeredDomain;
+
+	/**
+	 * Tells if this section is shown, i.e. if its listener has to be
+	 * registered
+	 */
+	private boolean shown;
+
 	/**
 	 * Selected EObject
 	 */
 	private EObject eObject;
 
+	/**
+	 * Selected EObjects, for multiple selections
+	 */
+	private List<EObject> eObjects = Collections.emptyList();
+
 	/**
 	 * Selected Graphical Edit Part
 	 */
 	private AbstractGraphicalEditPart editPart;
 
+	/**
+	 * Batcher gathering the commands of the zones, when command batching is
+	 * enabled.
+	 */
+	private CommandBatcher commandBatcher;
+
+	/**
+	 * Tells if an update has been skipped because batched commands were
+	 * pending
+	 */
+	private boolean refreshSkipped;
+
+	/**
+	 * Scheduler splitting the refreshes of the zones into budgeted slices, when
+	 * a refresh budget is set.
+	 */
+	private RefreshScheduler refreshScheduler;
+
+	/**
+	 * Dispatcher limiting the rate of the refreshes, when a maximum refresh
+	 * rate is set.
+	 */
+	private RefreshDispatcher refreshDispatcher;
+
+	/**
+	 * Listener flushing the pending commands when the focus leaves this
+	 * section, or when the user clicks outside of it (e.g. to close the
+	 * editor).
+	 */
+	private final Listener focusListener = new Listener() {
+		public void handleEvent(Event event) {
+			if (commandBatcher != null && !isInSection(event.widget))
+				commandBatcher.flush();
+		}
+	};
+
+	/**
+	 * Part providing the current input, observed to release the model when it
+	 * is closed
+	 */
+	private IWorkbenchPart inputPart;
+
+	/**
+	 * Tells if the input has been released because its part was closed. The
+	 * zones are not updated until the next setInput().
+	 */
+	private boolean released;
+
+	/**
+	 * Listener releasing the model when the input part is closed
+	 */
+	private final IPartListener partListener = new IPartListener() {
+		public void partClosed(IWorkbenchPart part) {
+			if (part == inputPart)
+				releaseInput();
+		}
+
+		public void partActivated(IWorkbenchPart part) {
+		}
+
+		public void partBroughtToTop(IWorkbenchPart part) {
+		}
+
+		public void partDeactivated(IWorkbenchPart part) {
+		}
+
+		public void partOpened(IWorkbenchPart part) {
+		}
+	};
+
+	/**
+	 * Tells if the user is dragging or resizing in the diagram
+	 */
+	private boolean interacting;
+
+	/**
+	 * Tells if a refresh has been deferred until the end of the current
+	 * interaction
+	 */
+	private boolean refreshDeferred;
+
+	/**
+	 * Listener tracking the mouse interactions (drags, resizes) in the diagram.
+	 * The interaction ends once the events following the mouse release,
+	 * including the execution of the drop command, have been processed.
+	 */
+	private final Listener interactionListener = new Listener() {
+		public void handleEvent(Event event) {
+			if (event.type == SWT.MouseDown) {
+				if (event.button == 1 && isDiagramControl(event.widget))
+					interacting = true;
+			} else if (interacting) {
+				event.display.asyncExec(new Runnable() {
+					public void run() {
+						endInteraction();
+					}
+				});
+			}
+		}
+	};
+
+	/**
+	 * Filter accepting the changes of multi-valued features, delivered as list
+	 * deltas to the zones observing them
+	 */
+	private static final NotificationFilter LIST_CHANGE_FILTER = NotificationFilter
+			.createEventTypeFilter(Notification.ADD)
+			.or(NotificationFilter.createEventTypeFilter(Notification.ADD_MANY))
+			.or(NotificationFilter.createEventTypeFilter(Notification.REMOVE))
+			.or(NotificationFilter.createEventTypeFilter(Notification.REMOVE_MANY))
+			.or(NotificationFilter.createEventTypeFilter(Notification.MOVE));
+
+	/**
+	 * Filter accepting the changes refreshing this section
+	 */
+	private final NotificationFilter refreshFilter = getFilter();
+
 	/**
 	 * Listener used to keep bijection between the properties view and the
-	 * diagram
+	 * diagram. The section is refreshed once per transaction, whatever the
+	 * number of accepted notifications. The transactions replaying the
+	 * changes of a command stack (undo, redo) are handled as one logical
+	 * change: list deltas are not delivered, and all the zones are refreshed.
 	 */
-	protected DemultiplexingListener eventListener = new DemultiplexingListener(getFilter()) {
+	protected DemultiplexingListener eventListener = new DemultiplexingListener(refreshFilter.or(LIST_CHANGE_FILTER)) {
+
+		/**
+		 * Tells if a notification of the current transaction requires a
+		 * refresh
+		 */
+		private boolean refreshRequested;
+
+		@Override
+		public void resourceSetChanged(ResourceSetChangeEvent event) {
+			if (isReplay(event.getTransaction())) {
+				for (Notification notification : event.getNotifications()) {
+					if (notification.getFeature() != null) {
+						requestUpdate(event.getEditingDomain());
+						return;
+					}
+				}
+				return;
+			}
+			refreshRequested = false;
+			super.resourceSetChanged(event);
+			if (refreshRequested) {
+				refreshRequested = false;
+				requestUpdate(event.getEditingDomain());
+			}
+		}
 
 		protected void handleNotification(TransactionalEditingDomain domain,
 				Notification notification) {
-			if (notification.getFeature() != null)
-				update();
+			if (notification.getFeature() == null)
+				return;
+			if (LIST_CHANGE_FILTER.matches(notification))
+				deliverListChange(domain, notification);
+			if (refreshFilter.matches(notification))
+				refreshRequested = true;
 		}
 	};
 
+	/**
+	 * Tells whether a transaction replays the changes of a command stack
+	 * 
+	 * @param transaction :
+	 *            committed transaction
+	 * @return true for undo and redo transactions
+	 */
+	private static boolean isReplay(Transaction transaction) {
+		return transaction != null
+				&& Boolean.TRUE.equals(transaction.getOptions().get(Transaction.OPTION_IS_UNDO_REDO_TRANSACTION));
+	}
+
+	/**
+	 * Requests the refresh of all the zones, from any thread
+	 * 
+	 * @param domain :
+	 *            editing domain which notified the change, or null if the
+	 *            refresh cannot be suspended
+	 */
+	private void requestUpdate(TransactionalEditingDomain domain) {
+		if (RefreshSuspension.defer(domain, this))
+			return;
+		if (refreshDispatcher != null)
+			refreshDispatcher.markDirty(zones.values());
+		else if (Display.getCurrent() != null)
+			update();
+		else if (backGround != null && !backGround.isDisposed())
+			display.asyncExec(new Runnable() {
+				public void run() {
+					if (!backGround.isDisposed())
+						update();
+				}
+			});
+	}
+
 	/**
 	 * Method used to update all the zoned included in this section
 	 */
 	private final void update() {
+		refreshSkipped = false;
 		Iterator<String> i = zones.keySet().iterator();
-		while (i.hasNext()) {
-			zones.get(i.next()).refreshZoneAndDiagram();
+		while (i.hasNext())
+			refresh(zones.get(i.next()));
+	}
+
+	/**
+	 * Refreshes one zone of this section, and the selected edit part. During a
+	 * diagram interaction, the refresh is deferred until the interaction ends.
+	 * While batched commands are pending, the zone keeps the values entered by
+	 * the user: the refresh is skipped, and the section is updated once the
+	 * batch is flushed. The zone is skipped as well when the user is editing
+	 * one of its controls; it is updated by the commit of that edit. Nothing
+	 * is refreshed once the input has been released.
+	 * 
+	 * @param zone :
+	 *            zone to refresh
+	 */
+	private void refresh(AbstractZone zone) {
+		if (released)
+			return;
+		if (interacting) {
+			refreshDeferred = true;
+			return;
+		}
+		if (commandBatcher != null && commandBatcher.hasPendingCommands()) {
+			refreshSkipped = true;
+			return;
+		}
+		if (zone.hasEditInProgress())
+			return;
+		if (refreshScheduler != null)
+			refreshScheduler.schedule(zone, true);
+		else if (zone.ensureMaterialized())
+			zone.refreshZoneAndDiagram();
+	}
+
+	/**
+	 * Runs the catch-up refresh of this section, once the refresh of its
+	 * editing domain is resumed. May be called from any thread.
+	 */
+	final void resumeRefresh() {
+		if (zones != null && backGround != null && !backGround.isDisposed())
+			requestUpdate(null);
+	}
+
+	/**
+	 * Delivers a list change to the zones observing the changed feature. When
+	 * the refreshes are rate-limited, these zones are marked dirty instead.
+	 * When the refresh is suspended, the section is refreshed on resume.
+	 * 
+	 * Deltas are only applied synchronously, in the UI thread: a delta posted
+	 * to the UI thread could run after a refresh already showing the change.
+	 * Changes committed in another thread refresh the zones instead.
+	 * 
+	 * @param domain :
+	 *            editing domain which notified the change
+	 * @param notification :
+	 *            list change
+	 */
+	private void deliverListChange(TransactionalEditingDomain domain, final Notification notification) {
+		if (zones == null)
+			return;
+		if (RefreshSuspension.defer(domain, this))
+			return;
+		if (refreshDispatcher != null) {
+			List<AbstractZone> dirtyZones = new ArrayList<AbstractZone>();
+			for (AbstractZone zone : zones.values())
+				if (zone.acceptsListChange(notification))
+					dirtyZones.add(zone);
+			if (!dirtyZones.isEmpty())
+				refreshDispatcher.markDirty(dirtyZones);
+		} else if (Display.getCurrent() != null)
+			applyListChange(notification);
+		else if (backGround != null && !backGround.isDisposed())
+			display.asyncExec(new Runnable() {
+				public void run() {
+					if (backGround.isDisposed())
+						return;
+					for (AbstractZone zone : zones.values())
+						if (zone.isMaterialized() && zone.acceptsListChange(notification))
+							refresh(zone);
+				}
+			});
+	}
+
+	/**
+	 * Applies a list change to the materialized zones observing the changed
+	 * feature, as list deltas. Zones are refreshed if the change cannot be
+	 * expressed as deltas. Zones waiting for a scheduled refresh do not display
+	 * the current list yet: the deltas are dropped, since the pending refresh
+	 * will show the change.
+	 * 
+	 * @param notification :
+	 *            list change
+	 */
+	private void applyListChange(Notification notification) {
+		List<ListDelta> deltas = ListDelta.create(notification);
+		for (AbstractZone zone : zones.values()) {
+			if (!zone.isMaterialized() || !zone.acceptsListChange(notification))
+				continue;
+			if (refreshScheduler != null && refreshScheduler.isPending(zone))
+				continue;
+			if (deltas == null) {
+				refresh(zone);
+				continue;
+			}
+			for (ListDelta delta : deltas)
+				zone.applyListDelta(delta);
+		}
+	}
+
+	/**
+	 * Ends the current diagram interaction, and runs the refresh deferred
+	 * during the interaction, if any.
+	 */
+	private void endInteraction() {
+		interacting = false;
+		if (refreshDeferred) {
+			refreshDeferred = false;
+			if (backGround != null && !backGround.isDisposed())
+				update();
+		}
+	}
+
+	/**
+	 * Tells whether the refreshes of this section should be deferred while the
+	 * user drags or resizes elements in the diagram. When true, the
+	 * notifications committed during the interaction result in one single
+	 * refresh, once the mouse is released. Returns true by default.
+	 * 
+	 * @return true to defer refreshes during diagram interactions
+	 */
+	protected boolean isRefreshDeferredDuringInteractions() {
+		return true;
+	}
+
+	/**
+	 * Tells whether the widget passed as parameter is the control of the
+	 * diagram viewer of the current editor, or of the selected edit part
+	 * 
+	 * @param widget :
+	 *            widget to test
+	 * @return true if the widget displays the diagram
+	 */
+	private boolean isDiagramControl(Object widget) {
+		if (getPart() instanceof DiagramDocumentEditor) {
+			EditPartViewer viewer = ((DiagramDocumentEditor) getPart()).getDiagramGraphicalViewer();
+			if (viewer != null && viewer.getControl() == widget)
+				return true;
 		}
+		return editPart != null && editPart.getViewer() != null && editPart.getViewer().getControl() == widget;
 	}
 
 	/**
-	 * @return AbstractFilter used for the Listener in charge to keep bijection
+	 * @return AbstractFilter used for the Listener in charge to keep bijection.
+	 *         Only the changes of the scope returned by getNotificationScope()
+	 *         are accepted. Changes of the features returned by
+	 *         AbstractZone.getDeltaFeatures() are delivered to the zones as list
+	 *         deltas, whatever this filter.
 	 */
 	public NotificationFilter getFilter() {
 		return NotificationFilter.createEventTypeFilter(Notification.SET).or(
 				NotificationFilter.createEventTypeFilter(Notification.UNSET).and(
-						NotificationFilter.createNotifierTypeFilter(EObject.class)));
+						NotificationFilter.createNotifierTypeFilter(EObject.class))).and(
+				getNotificationScope().getFilter());
+	}
+
+	/**
+	 * Declares which classes of changes this section needs to be refreshed on.
+	 * Sections displaying domain data only should return
+	 * NotificationScope.SEMANTIC, so that layout changes in the diagram do not
+	 * refresh them. Returns NotificationScope.ALL by default.
+	 * 
+	 * Note that this method is called while the section is being constructed.
+	 * 
+	 * @return scope of the changes refreshing this section
+	 */
+	protected NotificationScope getNotificationScope() {
+		return NotificationScope.ALL;
 	}
 
 	/**
@@ -109,7 +506,40 @@ public abstract class AbstractSection extends AbstractPropertySection {
 	@Override
 	public final void aboutToBeShown() {
 		super.aboutToBeShown();
-		editingDomain.addResourceSetListener(eventListener);
+		shown = true;
+		registerListener(editingDomain);
+		if (commandBatcher != null) {
+			display.addFilter(SWT.FocusIn, focusListener);
+			display.addFilter(SWT.MouseDown, focusListener);
+		}
+		if (isRefreshDeferredDuringInteractions()) {
+			display.addFilter(SWT.MouseDown, interactionListener);
+			display.addFilter(SWT.MouseUp, interactionListener);
+		}
+		display.asyncExec(new Runnable() {
+			public void run() {
+				if (!backGround.isDisposed())
+					updateShownZones();
+			}
+		});
+	}
+
+	/**
+	 * Updates the zones materialized on show which could not be materialized
+	 * yet, because the section was not visible when they were updated. Run
+	 * once the section is shown.
+	 */
+	private void updateShownZones() {
+		if (zones == null || released)
+			return;
+		for (AbstractZone zone : zones.values()) {
+			if (zone.isMaterialized())
+				continue;
+			if (refreshScheduler != null)
+				refreshScheduler.schedule(zone, false);
+			else if (zone.ensureMaterialized())
+				zone.updateItemsValues();
+		}
 	}
 
 	/**
@@ -120,7 +550,46 @@ public abstract class AbstractSection extends AbstractPropertySection {
 	@Override
 	public final void aboutToBeHidden() {
 		super.aboutToBeHidden();
-		editingDomain.removeResourceSetListener(eventListener);
+		removeFilters();
+		endInteraction();
+		if (commandBatcher != null)
+			commandBatcher.flush();
+		shown = false;
+		unregisterListener();
+	}
+
+	/**
+	 * Disposes this AbstractSection. Pending batched commands are executed,
+	 * and recyclable items are released to the ItemPool, before disposal.
+	 */
+	@Override
+	public void dispose() {
+		removeFilters();
+		observeInputPart(null);
+		unregisterListener();
+		if (refreshDispatcher != null)
+			refreshDispatcher.cancel();
+		if (refreshScheduler != null)
+			refreshScheduler.cancel();
+		if (commandBatcher != null)
+			commandBatcher.flush();
+		if (zones != null)
+			for (AbstractZone zone : zones.values())
+				zone.releaseItems();
+		super.dispose();
+	}
+
+	/**
+	 * Removes the filters added to the display when this AbstractSection is
+	 * shown. Removing filters which are not registered has no effect.
+	 */
+	private void removeFilters() {
+		if (display == null || display.isDisposed())
+			return;
+		display.removeFilter(SWT.FocusIn, focusListener);
+		display.removeFilter(SWT.MouseDown, focusListener);
+		display.removeFilter(SWT.MouseDown, interactionListener);
+		display.removeFilter(SWT.MouseUp, interactionListener);
 	}
 
 	/**
@@ -138,13 +607,49 @@ public abstract class AbstractSection extends AbstractPropertySection {
 		this.widgetFactory = super.getWidgetFactory();
 
 		backGround = getWidgetFactory().createFlatFormComposite(parent);
-		FormLayout layout = new FormLayout();
-		backGround.setLayout(layout);
+		backGround.setLayout(createLayout());
+		display = backGround.getDisplay();
+		backGround.setData(PaintScheduler.KEY, new PaintScheduler(backGround));
 
 		initParts();
-		addPartsToSection();
-		abstractAddLayoutsToParts();
-		addListenersToParts();
+		if (isCommandBatchingEnabled()) {
+			commandBatcher = new CommandBatcher(display, getCommandBatchDelay());
+			commandBatcher.setFlushCallback(new Runnable() {
+				public void run() {
+					if (refreshSkipped && !backGround.isDisposed())
+						update();
+				}
+			});
+		}
+		for (AbstractZone zone : zones.values())
+			zone.setCommandBatcher(commandBatcher);
+		if (getRefreshBudget() > 0)
+			refreshScheduler = new RefreshScheduler(display, getRefreshBudget());
+		if (getMaxRefreshRate() > 0)
+			refreshDispatcher = new RefreshDispatcher(display, getMaxRefreshRate(),
+					new RefreshDispatcher.Callback() {
+						public void refresh(AbstractZone zone) {
+							AbstractSection.this.refresh(zone);
+						}
+					});
+		backGround.setLayoutDeferred(true);
+		try {
+			addPartsToSection();
+			abstractAddLayoutsToParts();
+			addListenersToParts();
+		} finally {
+			backGround.setLayoutDeferred(false);
+		}
+	}
+
+	/**
+	 * Creates the layout used to place the zones in this AbstractSection's
+	 * background. Returns a FormLayout by default.
+	 * 
+	 * @return Layout of the background
+	 */
+	protected Layout createLayout() {
+		return new FormLayout();
 	}
 
 	/**
@@ -153,7 +658,10 @@ public abstract class AbstractSection extends AbstractPropertySection {
 	protected final void addPartsToSection() {
 		Iterator<String> ite = zones.keySet().iterator();
 		while (ite.hasNext()) {
-			zones.get(ite.next()).addItemsToZone();
+			AbstractZone zone = zones.get(ite.next());
+			zone.addItemsToZone();
+			if (!zone.isMaterializedOnShow())
+				zone.materializeItems();
 		}
 	}
 
@@ -163,7 +671,9 @@ public abstract class AbstractSection extends AbstractPropertySection {
 	protected final void abstractAddLayoutsToParts() {
 		Iterator<String> ite = zones.keySet().iterator();
 		while (ite.hasNext()) {
-			zones.get(ite.next()).addLayoutsToItems();
+			AbstractZone zone = zones.get(ite.next());
+			if (zone.isMaterialized())
+				zone.addLayoutsToItems();
 		}
 		addLayoutsToParts();
 	}
@@ -176,7 +686,9 @@ public abstract class AbstractSection extends AbstractPropertySection {
 	protected final void addListenersToParts() {
 		Iterator<String> ite = zones.keySet().iterator();
 		while (ite.hasNext()) {
-			zones.get(ite.next()).addListenersToItems();
+			AbstractZone zone = zones.get(ite.next());
+			if (zone.isMaterialized())
+				zone.addListenersToItems();
 		}
 	}
 
@@ -192,6 +704,70 @@ public abstract class AbstractSection extends AbstractPropertySection {
 	 */
 	protected abstract void addLayoutsToParts();
 
+	/**
+	 * Tells whether the commands executed from the zones of this
+	 * AbstractSection should be gathered, and executed in one single
+	 * transaction per edit burst. Returns false by default.
+	 * 
+	 * @return true to enable command batching, false otherwise
+	 */
+	protected boolean isCommandBatchingEnabled() {
+		return false;
+	}
+
+	/**
+	 * @return delay, in ms, without new edit after which batched commands are
+	 *         executed
+	 */
+	protected int getCommandBatchDelay() {
+		return CommandBatcher.DEFAULT_DELAY;
+	}
+
+	/**
+	 * Returns the time, in ms, the refresh of the zones may hold the UI thread
+	 * before yielding to the event loop. When positive, zones are refreshed
+	 * one by one, visible zones first, in slices not exceeding this budget (8
+	 * ms keeps up with a 60 Hz display). Returns 0 by default: all the zones
+	 * are refreshed at once.
+	 * 
+	 * @return refresh budget, in ms, or 0 to disable the refresh scheduling
+	 */
+	protected int getRefreshBudget() {
+		return 0;
+	}
+
+	/**
+	 * Returns the maximum number of refreshes per second of this section. When
+	 * positive, change notifications coming from any thread only mark the
+	 * zones as dirty, and the dirty zones are refreshed on the UI thread at
+	 * most at this rate (20 is enough for sections observing background jobs
+	 * committing many small transactions). Returns 0 by default: each
+	 * notification refreshes the section.
+	 * 
+	 * @return maximum refresh rate, in Hz, or 0 to refresh on each
+	 *         notification
+	 */
+	protected int getMaxRefreshRate() {
+		return 0;
+	}
+
+	/**
+	 * Tells whether the widget passed as parameter is contained in this
+	 * AbstractSection
+	 * 
+	 * @param widget :
+	 *            widget to test
+	 * @return true if the widget is in this section's background
+	 */
+	private boolean isInSection(Object widget) {
+		if (!(widget instanceof Control))
+			return false;
+		Control control = (Control) widget;
+		while (control != null && control != backGround)
+			control = control.getParent();
+		return control != null;
+	}
+
 	/**
 	 * This method sets the input of the AbstractSection. The input is the filtered
 	 * object from the diagram, which properties have to be displayed in this
@@ -201,6 +777,11 @@ public abstract class AbstractSection extends AbstractPropertySection {
 	@Override
 	public final void setInput(IWorkbenchPart part, ISelection selection) {
 		super.setInput(part, selection);
+		if (commandBatcher != null)
+			commandBatcher.flush();
+		released = false;
+		observeInputPart(part);
+		editingDomain = null;
 		if (part instanceof DiagramDocumentEditor) {
 			editingDomain = ((DiagramDocumentEditor) part).getEditingDomain();
 		}
@@ -222,26 +803,136 @@ public abstract class AbstractSection extends AbstractPropertySection {
 					eObject = ((View) model).getElement();
 				}
 			}
+
+			List<EObject> selectedEObjects = new ArrayList<EObject>(treeSelection.size());
+			for (Iterator<?> iterator = treeSelection.iterator(); iterator.hasNext();) {
+				EObject selectedEObject = toEObject(iterator.next());
+				if (selectedEObject != null)
+					selectedEObjects.add(selectedEObject);
+			}
+			eObjects = Collections.unmodifiableList(selectedEObjects);
 		}
 		
 		if (editingDomain == null && eObject != null)
 			editingDomain = TransactionUtil.getEditingDomain(eObject);
+		if (shown)
+			registerListener(editingDomain);
 		
 		updatePartsValues();
 	}
 
+	/**
+	 * Registers the listener on an editing domain, and removes it from the
+	 * domain it was registered on before, if any
+	 * 
+	 * @param domain :
+	 *            editing domain to observe, or null
+	 */
+	private void registerListener(TransactionalEditingDomain domain) {
+		if (domain == registeredDomain)
+			return;
+		unregisterListener();
+		if (domain != null) {
+			domain.addResourceSetListener(eventListener);
+			registeredDomain = domain;
+			LIVE_REGISTRATIONS.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Removes the listener from the editing domain it is registered on, if
+	 * any
+	 */
+	private void unregisterListener() {
+		if (registeredDomain != null) {
+			registeredDomain.removeResourceSetListener(eventListener);
+			registeredDomain = null;
+			LIVE_REGISTRATIONS.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Returns the number of listeners currently registered on editing domains
+	 * by all the sections, for diagnostics. This number should not grow while
+	 * editors are opened and closed.
+	 * 
+	 * @return number of live listener registrations
+	 */
+	public static int getLiveRegistrationCount() {
+		return LIVE_REGISTRATIONS.get();
+	}
+
+	/**
+	 * Moves the part listener to the page of a new input part
+	 * 
+	 * @param part :
+	 *            new input part, or null to stop observing
+	 */
+	private void observeInputPart(IWorkbenchPart part) {
+		if (part == inputPart)
+			return;
+		if (inputPart != null && inputPart.getSite() != null && inputPart.getSite().getPage() != null)
+			inputPart.getSite().getPage().removePartListener(partListener);
+		inputPart = part;
+		if (part != null && part.getSite() != null && part.getSite().getPage() != null)
+			part.getSite().getPage().addPartListener(partListener);
+	}
+
+	/**
+	 * Releases all the references to the model of the input part, once it is
+	 * closed, so that its resource set can be garbage-collected even if this
+	 * AbstractSection stays in a cached tab: pending commands are executed,
+	 * the listener is removed from the editing domain, and the zones drop
+	 * their EObjects, aggregates, derived values and bindings. The section is
+	 * given a new input by the next setInput().
+	 * 
+	 * The pending commands are usually executed before, by the click closing
+	 * the editor. If the domain is already disposed, they are dropped by the
+	 * CommandBatcher.
+	 */
+	private void releaseInput() {
+		released = true;
+		observeInputPart(null);
+		if (commandBatcher != null)
+			commandBatcher.flush();
+		if (refreshDispatcher != null)
+			refreshDispatcher.cancel();
+		if (refreshScheduler != null)
+			refreshScheduler.cancel();
+		unregisterListener();
+		eObject = null;
+		editPart = null;
+		editingDomain = null;
+		eObjects = Collections.emptyList();
+		super.setInput(null, StructuredSelection.EMPTY);
+		if (zones != null) {
+			for (AbstractZone zone : zones.values()) {
+				zone.init(null, null, null);
+				zone.setEObjects(eObjects);
+				zone.detachModelObservers();
+			}
+		}
+	}
+
 	/**
 	 * Method which purpose is to update values of the graphical elements
-	 * contained by this AbstractSection
+	 * contained by this AbstractSection. Does nothing once the input has been
+	 * released.
 	 * 
 	 */
 	protected final void updatePartsValues() {
+		if (released)
+			return;
 		Iterator<String> ite = zones.keySet().iterator();
 		while (ite.hasNext()) {
 			AbstractZone g = zones.get(ite.next());
 			if (g != null) {
 				g.init(getEObject(), getEditPart(), getEditingDomain());
-				g.updateItemsValues();
+				g.setEObjects(getEObjects());
+				if (refreshScheduler != null)
+					refreshScheduler.schedule(g, false);
+				else if (g.ensureMaterialized())
+					g.updateItemsValues();
 			}
 		}
 
@@ -268,6 +959,32 @@ public abstract class AbstractSection extends AbstractPropertySection {
 		return eObject;
 	}
 
+	/**
+	 * @return All the selected EObjects, in the selection order. The first one
+	 *         is the one returned by getEObject().
+	 */
+	protected final List<EObject> getEObjects() {
+		return eObjects;
+	}
+
+	/**
+	 * Retrieves the EObject behind a selected element
+	 * 
+	 * @param element :
+	 *            selected element
+	 * @return EObject, or null if the element has none
+	 */
+	private static EObject toEObject(Object element) {
+		if (element instanceof EObject)
+			return (EObject) element;
+		if (element instanceof AbstractGraphicalEditPart) {
+			Object model = ((AbstractGraphicalEditPart) element).getModel();
+			if (model instanceof View)
+				return ((View) model).getElement();
+		}
+		return null;
+	}
+
 	/**
 	 * @return the backGround of this AbstractSection
 	 */
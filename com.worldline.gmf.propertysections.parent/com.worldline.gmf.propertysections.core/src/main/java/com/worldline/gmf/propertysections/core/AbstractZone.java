@@ -1,16 +1,35 @@
 package com.worldline.gmf.propertysections.core;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
 import org.eclipse.swt.layout.FormData;
 import org.eclipse.swt.layout.FormLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Layout;
 import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetWidgetFactory;
 
+import com.worldline.gmf.propertysections.core.binding.Binding;
+import com.worldline.gmf.propertysections.core.binding.BindingContext;
+import com.worldline.gmf.propertysections.core.helpers.AbstractControlChangeHelper;
+import com.worldline.gmf.propertysections.core.helpers.CommandBatcher;
+import com.worldline.gmf.propertysections.core.internal.Messages;
+import com.worldline.gmf.propertysections.core.tools.BulkSetCommand;
+import com.worldline.gmf.propertysections.core.tools.DerivedValueCache;
+import com.worldline.gmf.propertysections.core.tools.IncrementalAggregate;
+
 /**
  * 
  * This Class defines a generic AbstractZone. the AbstractZone is a subdivision of a AbstractSection
@@ -22,6 +41,17 @@ import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetWidgetFactory;
  */
 public abstract class AbstractZone {
 
+	/**
+	 * Value returned by getSharedValue() when the selected EObjects hold
+	 * different values.
+	 */
+	public static final Object MIXED = new Object() {
+		@Override
+		public String toString() {
+			return Messages.MIXED_VALUE.value();
+		}
+	};
+
 	/**
 	 * FormData, used to define the Zones position among others.
 	 */
@@ -32,6 +62,11 @@ public abstract class AbstractZone {
 	 */
 	private EObject eObject;
 
+	/**
+	 * Selected EObjects, for multiple selections
+	 */
+	private List<EObject> eObjects = Collections.emptyList();
+
 	/**
 	 * Selected Graphical Edit Part
 	 */
@@ -52,6 +87,49 @@ public abstract class AbstractZone {
 	 */
 	private TabbedPropertySheetWidgetFactory widgetFactory = new TabbedPropertySheetWidgetFactory();
 
+	/**
+	 * Batcher used to gather commands of this AbstractZone, if enabled on the
+	 * AbstractSection.
+	 */
+	private CommandBatcher commandBatcher;
+
+	/**
+	 * Items registered in this AbstractZone
+	 */
+	private final List<AbstractItem> items = new ArrayList<AbstractItem>();
+
+	/**
+	 * Features returned by getDeltaFeatures(), computed once the items are
+	 * registered
+	 */
+	private Collection<EStructuralFeature> deltaFeatures;
+
+	/**
+	 * Aggregates registered in this AbstractZone, computed over the selected
+	 * EObject
+	 */
+	private final List<IncrementalAggregate<?>> aggregates = new ArrayList<IncrementalAggregate<?>>();
+
+	/**
+	 * Derived value caches registered in this AbstractZone
+	 */
+	private final List<DerivedValueCache<?>> derivedValues = new ArrayList<DerivedValueCache<?>>();
+
+	/**
+	 * Bindings registered in this AbstractZone
+	 */
+	private final List<Binding> bindings = new ArrayList<Binding>();
+
+	/**
+	 * Context in which the bindings write edits back, created on demand
+	 */
+	private BindingContext bindingContext;
+
+	/**
+	 * Tells if the registered items have been materialized
+	 */
+	private boolean materialized = false;
+
 	/**
 	 * Constructor
 	 * 
@@ -64,7 +142,18 @@ public abstract class AbstractZone {
 
 		zone = (isGroup) ? widgetFactory.createGroup(parent, "") : widgetFactory
 				.createComposite(parent);
-		zone.setLayout(new FormLayout());
+		zone.setLayout(createLayout());
+	}
+
+	/**
+	 * Creates the layout used to place the items in this AbstractZone. Returns
+	 * a FormLayout by default; a PropertyRowLayout can be returned instead, to
+	 * align label and value columns without resolving form attachments.
+	 * 
+	 * @return Layout of the background
+	 */
+	protected Layout createLayout() {
+		return new FormLayout();
 	}
 
 	/**
@@ -86,9 +175,242 @@ public abstract class AbstractZone {
 	 */
 	public final void init(EObject eObject, AbstractGraphicalEditPart editPart,
 			TransactionalEditingDomain editingDomain) {
+		if (eObject != this.eObject)
+			for (DerivedValueCache<?> derivedValue : derivedValues)
+				derivedValue.clear();
 		this.eObject = eObject;
 		this.editPart = editPart;
 		this.editingDomain = editingDomain;
+		for (IncrementalAggregate<?> aggregate : aggregates)
+			aggregate.setRoot(eObject);
+		for (Binding binding : bindings)
+			binding.setRoot(eObject);
+	}
+
+	/**
+	 * Binds all the selected EObjects to this AbstractZone, for multiple
+	 * selections.
+	 * 
+	 * @param eObjects :
+	 *            Selected EObjects
+	 */
+	final void setEObjects(List<EObject> eObjects) {
+		this.eObjects = eObjects;
+	}
+
+	/**
+	 * Registers an item in this AbstractZone. Registered items created with
+	 * the DEFERRED style are materialized by the zone, all in one pass.
+	 * 
+	 * @param item :
+	 *            item to register
+	 * @return the registered item
+	 */
+	protected final <T extends AbstractItem> T addItem(T item) {
+		items.add(item);
+		deltaFeatures = null;
+		return item;
+	}
+
+	/**
+	 * Takes back an item of the given class from the ItemPool, and registers
+	 * it in this AbstractZone. The pooled item keeps its widgets; its values
+	 * are updated with the other items of the zone.
+	 * 
+	 * @param type :
+	 *            class of the expected item
+	 * @return the registered item, or null if no item of this class is pooled
+	 */
+	protected final <T extends AbstractItem> T obtainItem(Class<T> type) {
+		T item = ItemPool.getDefault(zone.getDisplay()).obtain(type, zone, widgetFactory);
+		if (item != null) {
+			items.add(item);
+			deltaFeatures = null;
+		}
+		return item;
+	}
+
+	/**
+	 * Registers an aggregate in this AbstractZone. The aggregate is computed
+	 * over the containment subtree of the selected EObject, and kept up to
+	 * date while the EObject stays selected, so that updateItemsValues() can
+	 * read its value without traversing the model.
+	 * 
+	 * @param aggregate :
+	 *            aggregate to register
+	 * @return the registered aggregate
+	 */
+	protected final <T extends IncrementalAggregate<?>> T addAggregate(T aggregate) {
+		aggregates.add(aggregate);
+		aggregate.setRoot(eObject);
+		return aggregate;
+	}
+
+	/**
+	 * Registers a derived value cache in this AbstractZone, so that
+	 * updateItemsValues() reads memoized derived values instead of computing
+	 * them on each refresh. The cache is cleared when the selected EObject
+	 * changes, and when the section is disposed.
+	 * 
+	 * @param derivedValue :
+	 *            cache to register
+	 * @return the registered cache
+	 */
+	protected final <V> DerivedValueCache<V> addDerivedValue(DerivedValueCache<V> derivedValue) {
+		derivedValues.add(derivedValue);
+		return derivedValue;
+	}
+
+	/**
+	 * Registers a binding in this AbstractZone. The binding is moved to the
+	 * selected EObject each time it changes, and keeps its control up to date
+	 * from the notifications of the features of its path, so that the bound
+	 * controls do not have to be read again in updateItemsValues().
+	 * 
+	 * @param binding :
+	 *            binding to register, created with getBindingContext()
+	 * @return the registered binding
+	 */
+	protected final <T extends Binding> T addBinding(T binding) {
+		bindings.add(binding);
+		binding.setRoot(eObject);
+		return binding;
+	}
+
+	/**
+	 * @return the context in which the bindings of this AbstractZone write
+	 *         edits back: commands are executed as the commands of this
+	 *         AbstractZone
+	 */
+	protected final BindingContext getBindingContext() {
+		if (bindingContext == null)
+			bindingContext = new BindingContext() {
+				@Override
+				public TransactionalEditingDomain getEditingDomain() {
+					return AbstractZone.this.getEditingDomain();
+				}
+
+				@Override
+				public void execute(Command command) {
+					executeCommand(command);
+				}
+			};
+		return bindingContext;
+	}
+
+	/**
+	 * Detaches the registered aggregates, derived value caches and bindings
+	 * from the model
+	 */
+	final void detachModelObservers() {
+		for (Binding binding : bindings)
+			binding.setRoot(null);
+		for (IncrementalAggregate<?> aggregate : aggregates)
+			aggregate.setRoot(null);
+		for (DerivedValueCache<?> derivedValue : derivedValues)
+			derivedValue.clear();
+	}
+
+	/**
+	 * Releases the recyclable registered items to the ItemPool, and detaches
+	 * the aggregates, derived value caches and bindings. This is done by the
+	 * section when it is disposed. Items are only pooled if this AbstractZone
+	 * recycles them, after the listeners it added to them have been removed.
+	 */
+	final void releaseItems() {
+		detachModelObservers();
+		if (zone.isDisposed() || !isRecyclingItems())
+			return;
+		if (materialized)
+			removeListenersFromItems();
+		ItemPool pool = ItemPool.getDefault(zone.getDisplay());
+		for (AbstractItem item : items)
+			pool.release(item);
+		items.clear();
+		deltaFeatures = null;
+	}
+
+	/**
+	 * Tells whether the recyclable items of this AbstractZone can be released
+	 * to the ItemPool when the section is disposed. A recycling AbstractZone
+	 * must remove in removeListenersFromItems() all the listeners and change
+	 * helpers added to its items in addListenersToItems(), so that pooled
+	 * items do not write to the model of a disposed section. Returns false by
+	 * default: the items are disposed with the zone.
+	 * 
+	 * @return true if the items of this AbstractZone can be pooled
+	 */
+	protected boolean isRecyclingItems() {
+		return false;
+	}
+
+	/**
+	 * Method which purpose is to remove the listeners set by
+	 * addListenersToItems(), before the items are released to the ItemPool.
+	 * Does nothing by default.
+	 */
+	protected void removeListenersFromItems() {
+	}
+
+	/**
+	 * @return the items registered in this AbstractZone
+	 */
+	protected final List<AbstractItem> getItems() {
+		return Collections.unmodifiableList(items);
+	}
+
+	/**
+	 * Tells whether the registered items should only be materialized when
+	 * this AbstractZone is visible and refreshed for the first time, instead
+	 * of when the section is created. Layouts and listeners are then added to
+	 * the items at the same time. Returns false by default.
+	 * 
+	 * @return true to materialize items on show, false otherwise
+	 */
+	protected boolean isMaterializedOnShow() {
+		return false;
+	}
+
+	/**
+	 * @return true if the registered items have been materialized
+	 */
+	final boolean isMaterialized() {
+		return materialized;
+	}
+
+	/**
+	 * Materializes all the registered items, with the layout of the zone
+	 * deferred until all of them are created.
+	 */
+	final void materializeItems() {
+		if (materialized)
+			return;
+		materialized = true;
+		zone.setLayoutDeferred(true);
+		try {
+			for (AbstractItem item : items)
+				item.materialize();
+		} finally {
+			zone.setLayoutDeferred(false);
+		}
+	}
+
+	/**
+	 * Materializes the items of a zone materialized on show, if it is
+	 * visible, along with all its ancestors.
+	 * 
+	 * @return true if the items are materialized and can be updated
+	 */
+	final boolean ensureMaterialized() {
+		if (materialized)
+			return true;
+		if (!zone.isVisible())
+			return false;
+		materializeItems();
+		addLayoutsToItems();
+		addListenersToItems();
+		zone.layout(true, true);
+		return true;
 	}
 
 	/**
@@ -115,6 +437,54 @@ public abstract class AbstractZone {
 	 */
 	public abstract void updateItemsValues();
 
+	/**
+	 * Returns the multi-valued features of the selected EObject which changes
+	 * (ADD, REMOVE, MOVE...) are delivered to this AbstractZone as list deltas,
+	 * instead of refreshing it. Returns by default the features of the
+	 * AbstractListItems registered in this AbstractZone. The result is
+	 * computed once, and again only when items are registered.
+	 * 
+	 * @return features observed through list deltas
+	 */
+	protected Collection<EStructuralFeature> getDeltaFeatures() {
+		Set<EStructuralFeature> features = new HashSet<EStructuralFeature>();
+		for (AbstractItem item : items)
+			if (item instanceof AbstractListItem)
+				features.add(((AbstractListItem) item).getFeature());
+		return features;
+	}
+
+	/**
+	 * Applies a change of one of the features returned by getDeltaFeatures().
+	 * Routes by default the delta to the AbstractListItems displaying the
+	 * feature.
+	 * 
+	 * @param delta :
+	 *            change of the feature
+	 */
+	protected void applyListDelta(ListDelta delta) {
+		for (AbstractItem item : items)
+			if (item instanceof AbstractListItem && ((AbstractListItem) item).getFeature() == delta.getFeature())
+				((AbstractListItem) item).applyListDelta(delta);
+	}
+
+	/**
+	 * Tells whether a list change has to be delivered to this AbstractZone as
+	 * deltas
+	 * 
+	 * @param notification :
+	 *            list change
+	 * @return true if the change concerns a feature of the selected EObject
+	 *         observed through list deltas
+	 */
+	final boolean acceptsListChange(Notification notification) {
+		if (eObject == null || notification.getNotifier() != eObject)
+			return false;
+		if (deltaFeatures == null)
+			deltaFeatures = getDeltaFeatures();
+		return deltaFeatures.contains(notification.getFeature());
+	}
+
 	/**
 	 * @return TransactionalEditingDomain, retrieved from Opened Diagram
 	 */
@@ -136,6 +506,135 @@ public abstract class AbstractZone {
 		return eObject;
 	}
 
+	/**
+	 * Sets the batcher used to gather commands executed from this AbstractZone.
+	 * 
+	 * @param commandBatcher :
+	 *            batcher, or null to execute commands directly
+	 */
+	final void setCommandBatcher(CommandBatcher commandBatcher) {
+		this.commandBatcher = commandBatcher;
+	}
+
+	/**
+	 * Executes a command on this Editor's TransactionalEditingDomain. If
+	 * command batching is enabled on the AbstractSection, the command is
+	 * appended to the current batch and executed with the other edits of the
+	 * burst, in one single transaction.
+	 * 
+	 * @param command :
+	 *            command to execute
+	 */
+	protected final void executeCommand(Command command) {
+		if (command == null || getEditingDomain() == null)
+			return;
+		if (commandBatcher != null)
+			commandBatcher.append(getEditingDomain(), command);
+		else
+			getEditingDomain().getCommandStack().execute(command);
+	}
+
+	/**
+	 * Executes a command on this Editor's TransactionalEditingDomain, out of
+	 * the UI thread. The widgets keep the values entered by the user while the
+	 * transaction is committed. If the command fails or is rolled back, the
+	 * values of this AbstractZone are updated back from the model, as a
+	 * programmatic change of the helper passed as parameter.
+	 * 
+	 * @param command :
+	 *            command to execute
+	 * @param helper :
+	 *            helper that produced the command
+	 */
+	protected final void executeCommandAsync(Command command, AbstractControlChangeHelper helper) {
+		if (command == null || getEditingDomain() == null)
+			return;
+		helper.executeAsync(getEditingDomain(), command, new Runnable() {
+			public void run() {
+				if (!zone.isDisposed())
+					updateItemsValues();
+			}
+		});
+	}
+
+	/**
+	 * Tells whether the user is editing a control of this AbstractZone, i.e.
+	 * whether the focused control holds a value which has not been committed
+	 * yet.
+	 * 
+	 * @return true if an edit is in progress in this AbstractZone
+	 */
+	final boolean hasEditInProgress() {
+		if (zone == null || zone.isDisposed())
+			return false;
+		Control focus = zone.getDisplay().getFocusControl();
+		if (!AbstractControlChangeHelper.isEditInProgress(focus))
+			return false;
+		for (Control control = focus; control != null; control = control.getParent())
+			if (control == zone)
+				return true;
+		return false;
+	}
+
+	/**
+	 * @return all the selected EObjects, the first one being returned by
+	 *         getEObject()
+	 */
+	protected final List<EObject> getEObjects() {
+		return eObjects;
+	}
+
+	/**
+	 * Computes the value of a feature shared by all the selected EObjects, in
+	 * one pass over the selection. The computation stops on the first
+	 * different value. Selected EObjects not owning the feature are ignored.
+	 * 
+	 * @param feature :
+	 *            feature to read
+	 * @return the common value, MIXED if the values differ, or null if no
+	 *         selected EObject owns the feature
+	 */
+	protected final Object getSharedValue(EStructuralFeature feature) {
+		boolean found = false;
+		Object sharedValue = null;
+		for (EObject selected : eObjects) {
+			if (selected.eClass().getFeatureID(feature) < 0)
+				continue;
+			Object value = selected.eGet(feature);
+			if (!found) {
+				sharedValue = value;
+				found = true;
+			} else if (sharedValue == null ? value != null : !sharedValue.equals(value)) {
+				return MIXED;
+			}
+		}
+		return sharedValue;
+	}
+
+	/**
+	 * @param value :
+	 *            value returned by getSharedValue()
+	 * @return true if the value is the MIXED marker
+	 */
+	protected static final boolean isMixed(Object value) {
+		return value == MIXED;
+	}
+
+	/**
+	 * Sets a value on all the selected EObjects owning the feature, with one
+	 * single command.
+	 * 
+	 * @param feature :
+	 *            feature to set
+	 * @param value :
+	 *            value to set
+	 */
+	protected final void setSharedValue(EStructuralFeature feature, Object value) {
+		if (getEditingDomain() == null || eObjects.isEmpty())
+			return;
+		executeCommand(new BulkSetCommand(getEditingDomain(), eObjects, feature, value));
+	}
+
 	/**
 	 * If this AbstractZone is a Group, applies a Title to it.
 	 * 
@@ -0,0 +1,216 @@
+package com.worldline.gmf.propertysections.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+
+import com.worldline.gmf.propertysections.core.internal.Messages;
+import com.worldline.gmf.propertysections.core.tools.BulkSetCommand;
+import com.worldline.gmf.propertysections.core.tools.FormDataBuilder;
+
+/**
+ * AbstractZone displaying all the selected elements as the rows of a virtual
+ * table, with one column per feature. Table items are only filled when they
+ * become visible. A value entered in a cell is applied to all the selected
+ * rows if the edited row is part of the table selection, to the edited row
+ * otherwise; in both cases, with one single command and one transaction.
+ * 
+ * @since 1.0.1
+ */
+public abstract class BulkEditZone extends AbstractZone {
+
+	/**
+	 * Table displaying the elements
+	 */
+	private Table table;
+
+	/**
+	 * Editor of the cells
+	 */
+	private FeatureCellEditor cellEditor;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param parent :
+	 *            parent composite
+	 * @param isGroup :
+	 *            true creates a Group, false creates a standard Composite.
+	 */
+	public BulkEditZone(Composite parent, boolean isGroup) {
+		super(parent, isGroup);
+	}
+
+	/**
+	 * @return the features displayed as columns
+	 */
+	protected abstract EStructuralFeature[] getFeatures();
+
+	/**
+	 * Returns the text displayed in the first column, for an element.
+	 * 
+	 * @param eObject :
+	 *            selected element
+	 * @return text of the element
+	 */
+	protected String getElementText(EObject eObject) {
+		return "<" + eObject.eClass().getName() + ">";
+	}
+
+	/**
+	 * Returns the text displayed for the value of a feature which is not a
+	 * single-valued attribute.
+	 * 
+	 * @param value :
+	 *            value of the feature
+	 * @return text of the value
+	 */
+	protected String getReferenceText(Object value) {
+		return value == null ? "" : value.toString();
+	}
+
+	/**
+	 * @return the preferred height of the table, in pixels
+	 */
+	protected int getTableHeight() {
+		return 300;
+	}
+
+	/**
+	 * @return the table displaying the elements
+	 */
+	protected final Table getTable() {
+		return table;
+	}
+
+	@Override
+	public void addItemsToZone() {
+		table = getWidgetFactory().createTable(getZone(),
+				SWT.VIRTUAL | SWT.FULL_SELECTION | SWT.MULTI | SWT.BORDER);
+		table.setHeaderVisible(true);
+		table.setLinesVisible(true);
+		TableColumn elementColumn = new TableColumn(table, SWT.NONE);
+		elementColumn.setText(Messages.ELEMENT_COLUMN_LABEL.value());
+		elementColumn.setWidth(150);
+		for (EStructuralFeature feature : getFeatures()) {
+			TableColumn column = new TableColumn(table, SWT.NONE);
+			column.setText(feature.getName());
+			column.setWidth(120);
+		}
+		cellEditor = new FeatureCellEditor(table);
+	}
+
+	@Override
+	public void addLayoutsToItems() {
+		FormDataBuilder.on(table).fill().height(getTableHeight());
+	}
+
+	@Override
+	public void addListenersToItems() {
+		table.addListener(SWT.SetData, new Listener() {
+			public void handleEvent(Event event) {
+				TableItem item = (TableItem) event.item;
+				int index = event.index;
+				if (index < 0 || index >= getEObjects().size())
+					return;
+				EObject eObject = getEObjects().get(index);
+				item.setText(0, getElementText(eObject));
+				EStructuralFeature[] features = getFeatures();
+				for (int column = 0; column < features.length; column++)
+					item.setText(column + 1, getValueText(eObject, features[column]));
+			}
+		});
+		table.addListener(SWT.MouseDown, new Listener() {
+			public void handleEvent(Event event) {
+				if (event.button != 1 || (event.stateMask & SWT.MODIFIER_MASK) != 0)
+					return;
+				// The editor is opened once the selection has been updated
+				final Point point = new Point(event.x, event.y);
+				table.getDisplay().asyncExec(new Runnable() {
+					public void run() {
+						if (!table.isDisposed())
+							edit(point);
+					}
+				});
+			}
+		});
+	}
+
+	@Override
+	public void updateItemsValues() {
+		cellEditor.cancel();
+		table.setItemCount(getEObjects().size());
+		table.clearAll();
+	}
+
+	/**
+	 * Returns the text of the value of a feature, for an element
+	 */
+	private String getValueText(EObject eObject, EStructuralFeature feature) {
+		if (eObject.eClass().getFeatureID(feature) < 0)
+			return "";
+		Object value = eObject.eGet(feature);
+		if (feature.isMany() || !(feature instanceof EAttribute))
+			return getReferenceText(value);
+		return FeatureCellEditor.getText((EAttribute) feature, value);
+	}
+
+	/**
+	 * Opens the in place editor on the value cell containing the point, if
+	 * any. Only the visible rows are scanned.
+	 */
+	private void edit(Point point) {
+		Rectangle clientArea = table.getClientArea();
+		int count = Math.min(table.getItemCount(), getEObjects().size());
+		for (int index = table.getTopIndex(); index < count; index++) {
+			TableItem item = table.getItem(index);
+			if (item.getBounds(0).y > clientArea.y + clientArea.height)
+				return;
+			for (int column = 1; column < table.getColumnCount(); column++) {
+				if (item.getBounds(column).contains(point)) {
+					edit(index, column);
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Opens the in place editor on a cell
+	 */
+	private void edit(int index, int column) {
+		final EStructuralFeature feature = getFeatures()[column - 1];
+		EObject eObject = getEObjects().get(index);
+		if (eObject.eClass().getFeatureID(feature) < 0
+				|| FeatureCellEditor.getKind(feature) == FeatureCellEditor.READ_ONLY)
+			return;
+		final List<EObject> targets;
+		if (table.isSelected(index)) {
+			int[] indices = table.getSelectionIndices();
+			targets = new ArrayList<EObject>(indices.length);
+			for (int selected : indices)
+				targets.add(getEObjects().get(selected));
+		} else {
+			targets = Collections.singletonList(eObject);
+		}
+		TableItem item = table.getItem(index);
+		cellEditor.edit(item, column, feature, eObject.eGet(feature), new FeatureCellEditor.Callback() {
+			public void apply(Object value) {
+				executeCommand(new BulkSetCommand(getEditingDomain(), targets, feature, value));
+			}
+		});
+	}
+}
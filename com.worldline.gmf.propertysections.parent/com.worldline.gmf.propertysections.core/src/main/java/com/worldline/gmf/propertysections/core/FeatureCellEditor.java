@@ -0,0 +1,196 @@
+package com.worldline.gmf.propertysections.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CCombo;
+import org.eclipse.swt.custom.TableEditor;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+
+/**
+ * In place editor of feature values, in the cells of a table. Values of
+ * serializable data types are edited with a text field; booleans and
+ * enumerations with a combo. Other features are read-only.
+ * 
+ * @since 1.0.1
+ */
+final class FeatureCellEditor {
+
+	/**
+	 * Kinds of editor
+	 */
+	static final int READ_ONLY = 0, TEXT = 1, BOOLEAN = 2, ENUM = 3;
+
+	/**
+	 * Callback notified with the value entered by the user
+	 */
+	interface Callback {
+		void apply(Object value);
+	}
+
+	/**
+	 * Edited table
+	 */
+	private final Table table;
+
+	/**
+	 * Editor placing the controls in the cells
+	 */
+	private final TableEditor tableEditor;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param table :
+	 *            edited table
+	 */
+	FeatureCellEditor(Table table) {
+		this.table = table;
+		this.tableEditor = new TableEditor(table);
+		this.tableEditor.grabHorizontal = true;
+	}
+
+	/**
+	 * Returns the kind of editor of a feature
+	 * 
+	 * @param feature :
+	 *            edited feature
+	 * @return kind of editor
+	 */
+	static int getKind(EStructuralFeature feature) {
+		if (!feature.isChangeable() || feature.isMany() || !(feature instanceof EAttribute))
+			return READ_ONLY;
+		EDataType dataType = ((EAttribute) feature).getEAttributeType();
+		if (dataType instanceof EEnum)
+			return ENUM;
+		Class<?> instanceClass = dataType.getInstanceClass();
+		if (instanceClass == boolean.class || instanceClass == Boolean.class)
+			return BOOLEAN;
+		return dataType.isSerializable() ? TEXT : READ_ONLY;
+	}
+
+	/**
+	 * Returns the text of the value of a single-valued attribute
+	 * 
+	 * @param attribute :
+	 *            attribute
+	 * @param value :
+	 *            value of the attribute
+	 * @return text of the value
+	 */
+	static String getText(EAttribute attribute, Object value) {
+		return value == null ? "" : EcoreUtil.convertToString(attribute.getEAttributeType(), value);
+	}
+
+	/**
+	 * Opens the editor in a cell of the table
+	 * 
+	 * @param item :
+	 *            edited item
+	 * @param column :
+	 *            edited column
+	 * @param feature :
+	 *            edited feature
+	 * @param currentValue :
+	 *            value displayed in the cell
+	 * @param callback :
+	 *            callback notified with the entered value
+	 */
+	void edit(TableItem item, int column, final EStructuralFeature feature, Object currentValue,
+			final Callback callback) {
+		cancel();
+		final int kind = getKind(feature);
+		final Control editor;
+		switch (kind) {
+		case TEXT:
+			final Text text = new Text(table, SWT.NONE);
+			text.setText(getText((EAttribute) feature, currentValue));
+			text.selectAll();
+			Listener textListener = new Listener() {
+				private boolean done = false;
+
+				public void handleEvent(Event event) {
+					if (done || (event.type == SWT.Traverse && event.detail != SWT.TRAVERSE_RETURN
+							&& event.detail != SWT.TRAVERSE_ESCAPE))
+						return;
+					done = true;
+					String literal = text.getText();
+					cancel();
+					if (event.type == SWT.Traverse && event.detail == SWT.TRAVERSE_ESCAPE)
+						return;
+					Object value;
+					try {
+						value = EcoreUtil.createFromString(((EAttribute) feature).getEAttributeType(), literal);
+					} catch (RuntimeException e) {
+						// Value cannot be converted: the model is left unchanged
+						return;
+					}
+					callback.apply(value);
+				}
+			};
+			text.addListener(SWT.Traverse, textListener);
+			text.addListener(SWT.FocusOut, textListener);
+			editor = text;
+			break;
+		case BOOLEAN:
+		case ENUM:
+			final CCombo combo = new CCombo(table, SWT.READ_ONLY | SWT.FLAT);
+			final List<Object> values = new ArrayList<Object>();
+			if (kind == BOOLEAN) {
+				values.add(Boolean.TRUE);
+				values.add(Boolean.FALSE);
+			} else {
+				for (EEnumLiteral literal : ((EEnum) feature.getEType()).getELiterals())
+					values.add(literal.getInstance());
+			}
+			for (Object value : values)
+				combo.add(String.valueOf(value));
+			combo.select(values.indexOf(currentValue));
+			Listener comboListener = new Listener() {
+				private boolean done = false;
+
+				public void handleEvent(Event event) {
+					if (done)
+						return;
+					done = true;
+					int index = combo.getSelectionIndex();
+					cancel();
+					if (event.type == SWT.Selection && index >= 0)
+						callback.apply(values.get(index));
+				}
+			};
+			combo.addListener(SWT.Selection, comboListener);
+			combo.addListener(SWT.FocusOut, comboListener);
+			editor = combo;
+			break;
+		default:
+			return;
+		}
+		tableEditor.setEditor(editor, item, column);
+		editor.setFocus();
+	}
+
+	/**
+	 * Closes the editor, if any
+	 */
+	void cancel() {
+		Control editor = tableEditor.getEditor();
+		if (editor != null) {
+			tableEditor.setEditor(null);
+			if (!editor.isDisposed())
+				editor.dispose();
+		}
+	}
+}
@@ -0,0 +1,296 @@
+package com.worldline.gmf.propertysections.core;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.edit.command.SetCommand;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+
+import com.worldline.gmf.propertysections.core.internal.Messages;
+import com.worldline.gmf.propertysections.core.tools.FormDataBuilder;
+
+/**
+ * Generic AbstractZone displaying the structural features of the selected
+ * EObject in a virtual table, with one row per feature. Table items are only
+ * filled when they become visible, and values are edited in place: with a
+ * text field for serializable data types, with a combo for booleans and
+ * enumerations. Other features are displayed read-only.
+ * 
+ * The rows describing the features of an EClass are computed once, and
+ * cached for all the zones of the same class. When several elements are
+ * selected, the rows are the features of the first one, showing the value
+ * shared by all of them or a mixed marker, and edits apply to all of them.
+ * 
+ * @since 1.0.1
+ */
+public class FeatureTableZone extends AbstractZone {
+
+	/**
+	 * Cached rows, per zone class and per EClass. Rows reference their EClass
+	 * through their feature, so they are softly held: otherwise the weak keys,
+	 * and the classes of the model reachable from them, would never be
+	 * collected.
+	 */
+	private static final Map<Class<?>, Map<EClass, SoftReference<FeatureRow[]>>> ROWS_CACHE = new WeakHashMap<Class<?>, Map<EClass, SoftReference<FeatureRow[]>>>();
+
+	/**
+	 * Table displaying the features
+	 */
+	private Table table;
+
+	/**
+	 * Editor of the value cells
+	 */
+	private FeatureCellEditor cellEditor;
+
+	/**
+	 * Rows of the current EObject's EClass
+	 */
+	private FeatureRow[] rows = new FeatureRow[0];
+
+	/**
+	 * Constructor
+	 * 
+	 * @param parent :
+	 *            parent composite
+	 * @param isGroup :
+	 *            true creates a Group, false creates a standard Composite.
+	 */
+	public FeatureTableZone(Composite parent, boolean isGroup) {
+		super(parent, isGroup);
+	}
+
+	/**
+	 * Tells whether a feature should be displayed in the table. By default,
+	 * all features are displayed but derived features and containment
+	 * references.
+	 * 
+	 * @param feature :
+	 *            feature to test
+	 * @return true to display the feature
+	 */
+	protected boolean accept(EStructuralFeature feature) {
+		return !feature.isDerived()
+				&& !(feature instanceof EReference && ((EReference) feature).isContainment());
+	}
+
+	/**
+	 * Returns the label of a feature, displayed in the first column.
+	 * 
+	 * @param feature :
+	 *            feature
+	 * @return label of the feature
+	 */
+	protected String getFeatureLabel(EStructuralFeature feature) {
+		return feature.getName();
+	}
+
+	/**
+	 * Returns the text of a referenced value, displayed in the second column.
+	 * 
+	 * @param value :
+	 *            referenced value
+	 * @return text of the value
+	 */
+	protected String getReferenceText(Object value) {
+		return value == null ? "" : value.toString();
+	}
+
+	/**
+	 * @return the preferred height of the table, in pixels
+	 */
+	protected int getTableHeight() {
+		return 300;
+	}
+
+	/**
+	 * @return the table displaying the features
+	 */
+	protected final Table getTable() {
+		return table;
+	}
+
+	@Override
+	public void addItemsToZone() {
+		table = getWidgetFactory().createTable(getZone(),
+				SWT.VIRTUAL | SWT.FULL_SELECTION | SWT.SINGLE | SWT.BORDER);
+		table.setHeaderVisible(true);
+		table.setLinesVisible(true);
+		new TableColumn(table, SWT.NONE).setText(Messages.FEATURE_COLUMN_LABEL.value());
+		new TableColumn(table, SWT.NONE).setText(Messages.VALUE_COLUMN_LABEL.value());
+		cellEditor = new FeatureCellEditor(table);
+	}
+
+	@Override
+	public void addLayoutsToItems() {
+		FormDataBuilder.on(table).fill().height(getTableHeight());
+	}
+
+	@Override
+	public void addListenersToItems() {
+		table.addListener(SWT.SetData, new Listener() {
+			public void handleEvent(Event event) {
+				TableItem item = (TableItem) event.item;
+				int index = event.index;
+				if (index >= 0 && index < rows.length) {
+					item.setText(0, rows[index].label);
+					item.setText(1, getValueText(rows[index]));
+				}
+			}
+		});
+		table.addListener(SWT.Resize, new Listener() {
+			public void handleEvent(Event event) {
+				int width = table.getClientArea().width;
+				table.getColumn(0).setWidth(width * 35 / 100);
+				table.getColumn(1).setWidth(width - width * 35 / 100);
+			}
+		});
+		table.addListener(SWT.MouseDown, new Listener() {
+			public void handleEvent(Event event) {
+				int index = getValueCellIndex(new Point(event.x, event.y));
+				if (index >= 0)
+					edit(index);
+			}
+		});
+	}
+
+	@Override
+	public void updateItemsValues() {
+		cellEditor.cancel();
+		EObject eObject = getEObject();
+		rows = eObject == null ? new FeatureRow[0] : getRows(eObject.eClass());
+		table.setItemCount(rows.length);
+		table.clearAll();
+	}
+
+	/**
+	 * Returns the rows of an EClass, computed once per zone class.
+	 */
+	private FeatureRow[] getRows(EClass eClass) {
+		synchronized (ROWS_CACHE) {
+			Map<EClass, SoftReference<FeatureRow[]>> rowsPerEClass = ROWS_CACHE.get(getClass());
+			if (rowsPerEClass == null) {
+				rowsPerEClass = new WeakHashMap<EClass, SoftReference<FeatureRow[]>>();
+				ROWS_CACHE.put(getClass(), rowsPerEClass);
+			}
+			SoftReference<FeatureRow[]> reference = rowsPerEClass.get(eClass);
+			FeatureRow[] eClassRows = reference == null ? null : reference.get();
+			if (eClassRows == null) {
+				List<FeatureRow> list = new ArrayList<FeatureRow>();
+				for (EStructuralFeature feature : eClass.getEAllStructuralFeatures())
+					if (accept(feature))
+						list.add(new FeatureRow(feature, getFeatureLabel(feature)));
+				Collections.sort(list, new Comparator<FeatureRow>() {
+					public int compare(FeatureRow row1, FeatureRow row2) {
+						return row1.label.compareToIgnoreCase(row2.label);
+					}
+				});
+				eClassRows = list.toArray(new FeatureRow[list.size()]);
+				rowsPerEClass.put(eClass, new SoftReference<FeatureRow[]>(eClassRows));
+			}
+			return eClassRows;
+		}
+	}
+
+	/**
+	 * Returns the text of the value of a row, for the current EObject
+	 */
+	private String getValueText(FeatureRow row) {
+		Object value = getValue(row);
+		if (isMixed(value))
+			return MIXED.toString();
+		if (row.feature.isMany() || row.feature instanceof EReference)
+			return getReferenceText(value);
+		return FeatureCellEditor.getText((EAttribute) row.feature, value);
+	}
+
+	/**
+	 * Returns the index of the row whose value cell contains the point, or -1.
+	 * Only the visible rows are scanned.
+	 */
+	private int getValueCellIndex(Point point) {
+		Rectangle clientArea = table.getClientArea();
+		int count = Math.min(table.getItemCount(), rows.length);
+		for (int index = table.getTopIndex(); index < count; index++) {
+			Rectangle bounds = table.getItem(index).getBounds(1);
+			if (bounds.y > clientArea.y + clientArea.height)
+				break;
+			if (bounds.contains(point))
+				return index;
+		}
+		return -1;
+	}
+
+	/**
+	 * Opens the in place editor on the value cell of the row at the index
+	 */
+	private void edit(int index) {
+		final FeatureRow row = rows[index];
+		if (row.kind == FeatureCellEditor.READ_ONLY)
+			return;
+		TableItem item = table.getItem(index);
+		Object value = getValue(row);
+		cellEditor.edit(item, 1, row.feature, isMixed(value) ? null : value, new FeatureCellEditor.Callback() {
+			public void apply(Object value) {
+				setValue(row, value);
+			}
+		});
+	}
+
+	/**
+	 * Sets the value of the feature of a row, on the current EObject
+	 */
+	private void setValue(FeatureRow row, Object value) {
+		Object oldValue = getValue(row);
+		if (value == null ? oldValue == null : value.equals(oldValue))
+			return;
+		if (getEObjects().size() > 1)
+			setSharedValue(row.feature, value);
+		else
+			executeCommand(SetCommand.create(getEditingDomain(), getEObject(), row.feature, value));
+	}
+
+	/**
+	 * Returns the value of the feature of a row: the value of the current
+	 * EObject, or the value shared by the selected EObjects
+	 */
+	private Object getValue(FeatureRow row) {
+		return getEObjects().size() > 1 ? getSharedValue(row.feature) : getEObject().eGet(row.feature);
+	}
+
+	/**
+	 * Cached description of a displayed feature
+	 */
+	private static final class FeatureRow {
+
+		private final EStructuralFeature feature;
+
+		private final String label;
+
+		private final int kind;
+
+		private FeatureRow(EStructuralFeature feature, String label) {
+			this.feature = feature;
+			this.label = label;
+			this.kind = FeatureCellEditor.getKind(feature);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.worldline.gmf.propertysections.core;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetWidgetFactory;
+
+/**
+ * Pool of detached items, kept across selections and section instances. When
+ * a section is disposed, its recyclable items are moved to an hidden shell
+ * instead of being disposed, and new sections can take them back instead of
+ * creating their widgets again. Items are kept per class; when the capacity
+ * of the pool is reached, the least recently released item is disposed.
+ * 
+ * Only items returning true from isRecyclable(), not flat, already
+ * materialized, and registered in a zone returning true from
+ * isRecyclingItems() are pooled.
+ * 
+ * @since 1.0.1
+ */
+public final class ItemPool {
+
+	/**
+	 * Default number of items kept by a pool
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * Key under which the pool of a display is stored
+	 */
+	private static final String KEY = ItemPool.class.getName();
+
+	/**
+	 * Display of the pooled items
+	 */
+	private final Display display;
+
+	/**
+	 * Maximum number of pooled items
+	 */
+	private int capacity = DEFAULT_CAPACITY;
+
+	/**
+	 * Hidden shell holding the detached items
+	 */
+	private Shell parkingShell;
+
+	/**
+	 * Available items, per class, the most recently released last
+	 */
+	private final Map<Class<?>, Deque<AbstractItem>> availableItems = new HashMap<Class<?>, Deque<AbstractItem>>();
+
+	/**
+	 * All the available items, the least recently released first
+	 */
+	private final Set<AbstractItem> releaseOrder = new LinkedHashSet<AbstractItem>();
+
+	/**
+	 * Constructor
+	 * 
+	 * @param display :
+	 *            Display of the pooled items
+	 */
+	private ItemPool(Display display) {
+		this.display = display;
+	}
+
+	/**
+	 * Retrieves the pool of the display passed as parameter, created if
+	 * needed. This method must be called from the UI thread.
+	 * 
+	 * @param display :
+	 *            Display of the items
+	 * @return the pool of the display
+	 */
+	public static ItemPool getDefault(Display display) {
+		Object data = display.getData(KEY);
+		if (data instanceof ItemPool)
+			return (ItemPool) data;
+		ItemPool pool = new ItemPool(display);
+		display.setData(KEY, pool);
+		return pool;
+	}
+
+	/**
+	 * Sets the maximum number of items kept by this pool. Items over capacity
+	 * are disposed.
+	 * 
+	 * @param capacity :
+	 *            maximum number of pooled items
+	 */
+	public void setCapacity(int capacity) {
+		this.capacity = Math.max(0, capacity);
+		evict();
+	}
+
+	/**
+	 * @return the maximum number of items kept by this pool
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return the number of items currently pooled
+	 */
+	public int size() {
+		return releaseOrder.size();
+	}
+
+	/**
+	 * Takes back a pooled item of the given class, and reattaches it to the
+	 * parent passed as parameter.
+	 * 
+	 * @param type :
+	 *            class of the expected item
+	 * @param parent :
+	 *            new parent of the item
+	 * @param widgetFactory :
+	 *            widget factory of the new parent
+	 * @return the item, or null if no item of this class is pooled
+	 */
+	<T extends AbstractItem> T obtain(Class<T> type, Composite parent, TabbedPropertySheetWidgetFactory widgetFactory) {
+		Deque<AbstractItem> items = availableItems.get(type);
+		while (items != null && !items.isEmpty()) {
+			AbstractItem item = items.pollLast();
+			releaseOrder.remove(item);
+			if (item.getBackGround() != null && !item.getBackGround().isDisposed()) {
+				item.reattach(parent, widgetFactory);
+				return type.cast(item);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Detaches an item from its parent and keeps it in the pool.
+	 * 
+	 * @param item :
+	 *            item to release
+	 * @return true if the item has been pooled, false if it cannot be
+	 *         recycled
+	 */
+	boolean release(AbstractItem item) {
+		if (capacity == 0 || !item.isRecyclable() || item.isFlat() || !item.isMaterialized()
+				|| item.getBackGround().isDisposed() || display.isDisposed())
+			return false;
+		if (parkingShell == null || parkingShell.isDisposed())
+			parkingShell = new Shell(display);
+		if (!item.detach(parkingShell))
+			return false;
+		Deque<AbstractItem> items = availableItems.get(item.getClass());
+		if (items == null) {
+			items = new ArrayDeque<AbstractItem>();
+			availableItems.put(item.getClass(), items);
+		}
+		items.addLast(item);
+		releaseOrder.add(item);
+		evict();
+		return true;
+	}
+
+	/**
+	 * Disposes the least recently released items over capacity.
+	 */
+	private void evict() {
+		Iterator<AbstractItem> iterator = releaseOrder.iterator();
+		while (releaseOrder.size() > capacity && iterator.hasNext()) {
+			AbstractItem item = iterator.next();
+			iterator.remove();
+			availableItems.get(item.getClass()).remove(item);
+			if (!item.getBackGround().isDisposed())
+				item.getBackGround().dispose();
+		}
+	}
+}
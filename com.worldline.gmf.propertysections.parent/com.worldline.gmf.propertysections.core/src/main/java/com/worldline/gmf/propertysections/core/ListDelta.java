@@ -0,0 +1,192 @@
+package com.worldline.gmf.propertysections.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * Typed change of a multi-valued feature, delivered to the zones declaring
+ * the feature in AbstractZone.getDeltaFeatures(). A delta describes a change
+ * of contiguous positions, so that it can be applied to the widgets
+ * displaying the list without reading the whole list again.
+ *
+ * @since 1.0.1
+ */
+public final class ListDelta {
+
+	/**
+	 * Kind of delta: values inserted at the position
+	 */
+	public static final int ADD = 0;
+
+	/**
+	 * Kind of delta: values removed from the position
+	 */
+	public static final int REMOVE = 1;
+
+	/**
+	 * Kind of delta: one value moved from the old position to the position
+	 */
+	public static final int MOVE = 2;
+
+	/**
+	 * Kind of this delta
+	 */
+	private final int kind;
+
+	/**
+	 * EObject owning the list
+	 */
+	private final EObject owner;
+
+	/**
+	 * Changed feature
+	 */
+	private final EStructuralFeature feature;
+
+	/**
+	 * Position of the change, after the change for a MOVE
+	 */
+	private final int position;
+
+	/**
+	 * Position of the moved value before the change, -1 for other kinds
+	 */
+	private final int oldPosition;
+
+	/**
+	 * Values added, removed, or moved
+	 */
+	private final List<?> values;
+
+	/**
+	 * Constructor
+	 */
+	private ListDelta(int kind, Notification notification, int position, int oldPosition, List<?> values) {
+		this.kind = kind;
+		this.owner = (EObject) notification.getNotifier();
+		this.feature = (EStructuralFeature) notification.getFeature();
+		this.position = position;
+		this.oldPosition = oldPosition;
+		this.values = values;
+	}
+
+	/**
+	 * Converts a notification into deltas. A notification removing
+	 * non-contiguous values gives one REMOVE delta per value, from the last
+	 * position to the first one, so that the deltas can be applied in order.
+	 *
+	 * @param notification :
+	 *            notification of a list change
+	 * @return deltas, in application order, or null if the notification can
+	 *         not be expressed as deltas (the whole list has to be read again)
+	 */
+	public static List<ListDelta> create(Notification notification) {
+		if (!(notification.getNotifier() instanceof EObject)
+				|| !(notification.getFeature() instanceof EStructuralFeature)
+				|| !((EStructuralFeature) notification.getFeature()).isMany())
+			return null;
+		int position = notification.getPosition();
+		Object newValue = notification.getNewValue();
+		Object oldValue = notification.getOldValue();
+		switch (notification.getEventType()) {
+		case Notification.ADD:
+			return create(ADD, notification, position, -1, Collections.singletonList(newValue));
+		case Notification.ADD_MANY:
+			return create(ADD, notification, position, -1, new ArrayList<Object>((Collection<?>) newValue));
+		case Notification.REMOVE:
+			return create(REMOVE, notification, position, -1, Collections.singletonList(oldValue));
+		case Notification.REMOVE_MANY:
+			List<?> removed = new ArrayList<Object>((Collection<?>) oldValue);
+			if (newValue instanceof int[]) {
+				int[] positions = (int[]) newValue;
+				List<ListDelta> deltas = new ArrayList<ListDelta>(positions.length);
+				for (int i = positions.length - 1; i >= 0; i--)
+					deltas.add(new ListDelta(REMOVE, notification, positions[i], -1,
+							Collections.singletonList(removed.get(i))));
+				return deltas;
+			}
+			return create(REMOVE, notification, position, -1, removed);
+		case Notification.MOVE:
+			return create(MOVE, notification, position, ((Integer) oldValue).intValue(),
+					Collections.singletonList(newValue));
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a list of one delta, or null if the position is unknown
+	 */
+	private static List<ListDelta> create(int kind, Notification notification, int position, int oldPosition,
+			List<?> values) {
+		if (position < 0)
+			return null;
+		return Collections.singletonList(new ListDelta(kind, notification, position, oldPosition, values));
+	}
+
+	/**
+	 * @return kind of this delta: ADD, REMOVE or MOVE
+	 */
+	public int getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return EObject owning the list
+	 */
+	public EObject getOwner() {
+		return owner;
+	}
+
+	/**
+	 * @return changed feature
+	 */
+	public EStructuralFeature getFeature() {
+		return feature;
+	}
+
+	/**
+	 * @return position of the first value added or removed, or new
+	 *         position of the moved value
+	 */
+	public int getPosition() {
+		return position;
+	}
+
+	/**
+	 * @return position of the moved value before the move, or -1 if this
+	 *         delta is not a MOVE
+	 */
+	public int getOldPosition() {
+		return oldPosition;
+	}
+
+	/**
+	 * @return values added or removed, or the value moved
+	 */
+	public List<?> getValues() {
+		return values;
+	}
+
+	/**
+	 * @return number of values concerned by this delta
+	 */
+	public int getCount() {
+		return values.size();
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ListDelta[kind=" + kind + ", feature=" + feature.getName() + ", position=" + position
+				+ ", oldPosition=" + oldPosition + ", count=" + values.size() + "]";
+	}
+}
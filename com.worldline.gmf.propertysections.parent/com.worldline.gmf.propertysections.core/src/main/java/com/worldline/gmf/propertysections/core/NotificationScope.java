@@ -0,0 +1,79 @@
+package com.worldline.gmf.propertysections.core;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.transaction.NotificationFilter;
+import org.eclipse.gmf.runtime.notation.NotationPackage;
+
+/**
+ * Classes of model changes a section may need to be refreshed on. Changes are
+ * classified by the package of the notifier: changes on notation elements
+ * (views, bounds, bendpoints, styles...) are notation changes, all the others
+ * are semantic changes.
+ *
+ * @since 1.0.1
+ */
+public enum NotificationScope {
+
+	/**
+	 * Changes on the domain model only
+	 */
+	SEMANTIC,
+
+	/**
+	 * Changes on the notation model only
+	 */
+	NOTATION,
+
+	/**
+	 * All the changes
+	 */
+	ALL;
+
+	/**
+	 * Filter accepting the notifications of notation elements
+	 */
+	private static final NotificationFilter NOTATION_FILTER = new NotificationFilter.Custom() {
+		@Override
+		public boolean matches(Notification notification) {
+			return isNotation(notification);
+		}
+	};
+
+	/**
+	 * Filter accepting the notifications of non-notation elements
+	 */
+	private static final NotificationFilter SEMANTIC_FILTER = new NotificationFilter.Custom() {
+		@Override
+		public boolean matches(Notification notification) {
+			return !isNotation(notification);
+		}
+	};
+
+	/**
+	 * @return Filter accepting the notifications of this class of changes
+	 */
+	public NotificationFilter getFilter() {
+		switch (this) {
+		case SEMANTIC:
+			return SEMANTIC_FILTER;
+		case NOTATION:
+			return NOTATION_FILTER;
+		default:
+			return NotificationFilter.ANY;
+		}
+	}
+
+	/**
+	 * Tells whether a notification is sent by a notation element
+	 *
+	 * @param notification :
+	 *            notification to classify
+	 * @return true if the notifier belongs to the notation package
+	 */
+	public static boolean isNotation(Notification notification) {
+		Object notifier = notification.getNotifier();
+		return notifier instanceof EObject
+				&& ((EObject) notifier).eClass().getEPackage() == NotationPackage.eINSTANCE;
+	}
+}
@@ -0,0 +1,89 @@
+package com.worldline.gmf.propertysections.core;
+
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+
+/**
+ * Section-level scheduler of the paints requested by the items. Instead of
+ * forcing a synchronous paint each time an item is reloaded, items report
+ * their damage to the scheduler, which processes the outstanding paints of
+ * the whole section once, when the UI thread is back in the event loop.
+ * 
+ * The scheduler is stored as data of the section's background, so that items
+ * can find it from their own background.
+ * 
+ * @since 1.0.1
+ */
+final class PaintScheduler {
+
+	/**
+	 * Key under which the scheduler is stored as widget data
+	 */
+	static final String KEY = PaintScheduler.class.getName();
+
+	/**
+	 * Background of the section whose paints are scheduled
+	 */
+	private final Composite background;
+
+	/**
+	 * Tells if a flush has already been posted to the display
+	 */
+	private boolean scheduled;
+
+	/**
+	 * Runnable processing the outstanding paints
+	 */
+	private final Runnable flushRunnable = new Runnable() {
+		public void run() {
+			flush();
+		}
+	};
+
+	/**
+	 * Constructor
+	 * 
+	 * @param background :
+	 *            Background of the section whose paints are scheduled
+	 */
+	PaintScheduler(Composite background) {
+		this.background = background;
+	}
+
+	/**
+	 * Reports damage in the section. The outstanding paints are processed on
+	 * the next flush.
+	 */
+	void schedule() {
+		if (!scheduled && !background.isDisposed()) {
+			scheduled = true;
+			background.getDisplay().asyncExec(flushRunnable);
+		}
+	}
+
+	/**
+	 * Processes the outstanding paints of the section, in one single pass.
+	 */
+	void flush() {
+		scheduled = false;
+		if (!background.isDisposed() && background.isVisible())
+			background.update();
+	}
+
+	/**
+	 * Retrieves the scheduler of the section containing the control passed as
+	 * parameter.
+	 * 
+	 * @param control :
+	 *            control contained in a section
+	 * @return the section's scheduler, or null if none is found
+	 */
+	static PaintScheduler find(Control control) {
+		for (Control current = control; current != null; current = current.getParent()) {
+			Object data = current.getData(KEY);
+			if (data instanceof PaintScheduler)
+				return (PaintScheduler) data;
+		}
+		return null;
+	}
+}
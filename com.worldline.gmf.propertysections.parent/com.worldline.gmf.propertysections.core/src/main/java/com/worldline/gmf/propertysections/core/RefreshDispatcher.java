@@ -0,0 +1,133 @@
+package com.worldline.gmf.propertysections.core;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Section-level dispatcher of the zone refreshes requested from any thread.
+ * Change notifications only raise a dirty flag per zone; the dirty zones are
+ * refreshed on the UI thread, at most once per refresh period. Whatever the
+ * number of transactions committed in between, one refresh shows the latest
+ * state, and no backlog of runnables piles up in the display.
+ *
+ * @since 1.0.1
+ */
+final class RefreshDispatcher {
+
+	/**
+	 * Callback refreshing one dirty zone, on the UI thread
+	 */
+	interface Callback {
+		void refresh(AbstractZone zone);
+	}
+
+	/**
+	 * Display on which the refreshes are run
+	 */
+	private final Display display;
+
+	/**
+	 * Minimal time, in ms, between two refreshes
+	 */
+	private final int period;
+
+	/**
+	 * Callback refreshing the dirty zones
+	 */
+	private final Callback callback;
+
+	/**
+	 * Zones waiting for refresh. Also used as lock for the posted flag.
+	 */
+	private final Set<AbstractZone> dirtyZones = new LinkedHashSet<AbstractZone>();
+
+	/**
+	 * Tells if a dispatch has already been posted to the display
+	 */
+	private boolean posted;
+
+	/**
+	 * Time, in ms, of the last dispatch. Only accessed from the UI thread.
+	 */
+	private long lastDispatch;
+
+	/**
+	 * Runnable refreshing the dirty zones
+	 */
+	private final Runnable dispatchRunnable = new Runnable() {
+		public void run() {
+			dispatch();
+		}
+	};
+
+	/**
+	 * Constructor
+	 *
+	 * @param display :
+	 *            Display on which the refreshes are run
+	 * @param maxRate :
+	 *            maximum number of refreshes per second
+	 * @param callback :
+	 *            callback refreshing one dirty zone
+	 */
+	RefreshDispatcher(Display display, int maxRate, Callback callback) {
+		this.display = display;
+		this.period = Math.max(1, 1000 / maxRate);
+		this.callback = callback;
+	}
+
+	/**
+	 * Marks zones as dirty. This method may be called from any thread.
+	 *
+	 * @param zones :
+	 *            zones to refresh
+	 */
+	void markDirty(Collection<AbstractZone> zones) {
+		synchronized (dirtyZones) {
+			dirtyZones.addAll(zones);
+			if (posted)
+				return;
+			posted = true;
+		}
+		if (!display.isDisposed())
+			display.asyncExec(dispatchRunnable);
+	}
+
+	/**
+	 * Drops the pending refreshes. Must be called from the UI thread.
+	 */
+	void cancel() {
+		synchronized (dirtyZones) {
+			dirtyZones.clear();
+			posted = false;
+		}
+		if (!display.isDisposed())
+			display.timerExec(-1, dispatchRunnable);
+	}
+
+	/**
+	 * Refreshes the dirty zones, or postpones the refresh until the end of the
+	 * current refresh period.
+	 */
+	private void dispatch() {
+		long wait = lastDispatch + period - System.currentTimeMillis();
+		if (wait > 0) {
+			if (!display.isDisposed())
+				display.timerExec((int) wait, dispatchRunnable);
+			return;
+		}
+		AbstractZone[] zones;
+		synchronized (dirtyZones) {
+			zones = dirtyZones.toArray(new AbstractZone[dirtyZones.size()]);
+			dirtyZones.clear();
+			posted = false;
+		}
+		lastDispatch = System.currentTimeMillis();
+		for (AbstractZone zone : zones)
+			if (!zone.getZone().isDisposed())
+				callback.refresh(zone);
+	}
+}
@@ -0,0 +1,162 @@
+package com.worldline.gmf.propertysections.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Section-level cooperative scheduler of the zone refreshes. Instead of
+ * refreshing all the zones of a section in one UI-thread slice, the refresh is
+ * split into one task per zone. Tasks of the zones currently on screen are run
+ * first, then the ones of the off-screen zones. When the frame budget is used
+ * up, the remaining tasks are posted back to the event loop, so that input
+ * and paint events are processed in between.
+ *
+ * @since 1.0.1
+ */
+final class RefreshScheduler {
+
+	/**
+	 * Display on which refresh tasks are run
+	 */
+	private final Display display;
+
+	/**
+	 * Time, in ns, a slice of refresh tasks may run before yielding to the
+	 * event loop
+	 */
+	private final long budget;
+
+	/**
+	 * Zones waiting for refresh. The value tells whether the edit part has to
+	 * be refreshed too.
+	 */
+	private final Map<AbstractZone, Boolean> pendingZones = new LinkedHashMap<AbstractZone, Boolean>();
+
+	/**
+	 * Tells if a slice has already been posted to the display
+	 */
+	private boolean scheduled;
+
+	/**
+	 * Runnable running one slice of refresh tasks
+	 */
+	private final Runnable sliceRunnable = new Runnable() {
+		public void run() {
+			runSlice();
+		}
+	};
+
+	/**
+	 * Constructor
+	 *
+	 * @param display :
+	 *            Display on which refresh tasks are run
+	 * @param budget :
+	 *            time, in ms, a slice of refresh tasks may run before yielding
+	 */
+	RefreshScheduler(Display display, int budget) {
+		this.display = display;
+		this.budget = budget * 1000000L;
+	}
+
+	/**
+	 * Schedules the refresh of a zone. A zone already waiting for refresh is
+	 * not scheduled twice.
+	 *
+	 * @param zone :
+	 *            zone to refresh
+	 * @param withDiagram :
+	 *            true to refresh the edit part too, false to only update the
+	 *            values of the items
+	 */
+	void schedule(AbstractZone zone, boolean withDiagram) {
+		Boolean pending = pendingZones.get(zone);
+		pendingZones.put(zone, pending != null && pending.booleanValue() || withDiagram);
+		if (!scheduled && !display.isDisposed()) {
+			scheduled = true;
+			display.asyncExec(sliceRunnable);
+		}
+	}
+
+	/**
+	 * @param zone :
+	 *            zone to test
+	 * @return true if the zone is waiting for refresh
+	 */
+	boolean isPending(AbstractZone zone) {
+		return pendingZones.containsKey(zone);
+	}
+
+	/**
+	 * Drops all the pending refresh tasks
+	 */
+	void cancel() {
+		pendingZones.clear();
+	}
+
+	/**
+	 * Runs pending refresh tasks, visible zones first, until the budget is used
+	 * up. If tasks remain, another slice is posted to the display.
+	 */
+	private void runSlice() {
+		scheduled = false;
+		long start = System.nanoTime();
+		List<AbstractZone> ordered = new ArrayList<AbstractZone>(pendingZones.size());
+		List<AbstractZone> offScreen = new ArrayList<AbstractZone>();
+		for (AbstractZone zone : pendingZones.keySet())
+			(isOnScreen(zone.getZone()) ? ordered : offScreen).add(zone);
+		ordered.addAll(offScreen);
+
+		for (AbstractZone zone : ordered) {
+			Boolean withDiagram = pendingZones.remove(zone);
+			if (withDiagram != null && !zone.getZone().isDisposed() && zone.ensureMaterialized()) {
+				if (withDiagram.booleanValue())
+					zone.refreshZoneAndDiagram();
+				else
+					zone.updateItemsValues();
+			}
+			if (System.nanoTime() - start >= budget && !pendingZones.isEmpty()) {
+				if (!display.isDisposed()) {
+					scheduled = true;
+					display.asyncExec(sliceRunnable);
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Tells whether a control is currently displayed, i.e. visible and not
+	 * scrolled out of the client area of its ancestors.
+	 *
+	 * @param control :
+	 *            control to test
+	 * @return true if a part of the control is on screen
+	 */
+	private static boolean isOnScreen(Control control) {
+		if (control.isDisposed() || !control.isVisible())
+			return false;
+		Rectangle bounds = control.getBounds();
+		Rectangle area = display(control.getParent(), bounds);
+		for (Composite parent = control.getParent(); parent != null; parent = parent.getParent()) {
+			Rectangle clientArea = display(parent, parent.getClientArea());
+			if (!area.intersects(clientArea))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Converts a rectangle relative to a composite into display coordinates
+	 */
+	private static Rectangle display(Composite composite, Rectangle rectangle) {
+		return composite == null ? rectangle : composite.getDisplay().map(composite, null, rectangle);
+	}
+}
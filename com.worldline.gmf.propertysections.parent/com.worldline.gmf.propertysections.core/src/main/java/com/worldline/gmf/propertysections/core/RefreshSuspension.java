@@ -0,0 +1,149 @@
+package com.worldline.gmf.propertysections.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+
+/**
+ * Suspension of the refresh of the property sections observing an editing
+ * domain, for long-running model operations. While the refresh is suspended,
+ * the sections only record that they are dirty; when the last suspension of
+ * the domain is closed, each dirty section is refreshed once.
+ *
+ * Suspensions are reentrant, and may be opened and closed from any thread:
+ *
+ * <pre>
+ * try (RefreshSuspension suspension = RefreshSuspension.suspend(domain)) {
+ * 	// long-running operation
+ * }
+ * </pre>
+ *
+ * @since 1.0.1
+ */
+public final class RefreshSuspension implements AutoCloseable {
+
+	/**
+	 * Suspension state of the editing domains having open suspensions
+	 */
+	private static final Map<TransactionalEditingDomain, State> STATES =
+			new WeakHashMap<TransactionalEditingDomain, State>();
+
+	/**
+	 * Editing domain which refresh is suspended
+	 */
+	private final TransactionalEditingDomain editingDomain;
+
+	/**
+	 * Tells if this suspension is closed
+	 */
+	private boolean closed;
+
+	/**
+	 * Constructor
+	 */
+	private RefreshSuspension(TransactionalEditingDomain editingDomain) {
+		this.editingDomain = editingDomain;
+	}
+
+	/**
+	 * Suspends the refresh of the sections observing an editing domain, until
+	 * the returned suspension, and all the other ones opened on the domain,
+	 * are closed.
+	 *
+	 * @param editingDomain :
+	 *            editing domain which refresh has to be suspended
+	 * @return suspension to close to resume the refresh
+	 */
+	public static RefreshSuspension suspend(TransactionalEditingDomain editingDomain) {
+		if (editingDomain == null)
+			throw new IllegalArgumentException();
+		synchronized (STATES) {
+			State state = STATES.get(editingDomain);
+			if (state == null) {
+				state = new State();
+				STATES.put(editingDomain, state);
+			}
+			state.depth++;
+		}
+		return new RefreshSuspension(editingDomain);
+	}
+
+	/**
+	 * Tells whether the refresh of the sections observing an editing domain is
+	 * suspended
+	 *
+	 * @param editingDomain :
+	 *            editing domain
+	 * @return true if at least one suspension is open on the domain
+	 */
+	public static boolean isSuspended(TransactionalEditingDomain editingDomain) {
+		synchronized (STATES) {
+			return STATES.containsKey(editingDomain);
+		}
+	}
+
+	/**
+	 * Records that a section needs a refresh, if the refresh of its editing
+	 * domain is suspended
+	 *
+	 * @param editingDomain :
+	 *            editing domain which notified the change
+	 * @param section :
+	 *            section to refresh
+	 * @return true if the refresh is deferred until the resume, false if the
+	 *         section has to be refreshed now
+	 */
+	static boolean defer(TransactionalEditingDomain editingDomain, AbstractSection section) {
+		if (editingDomain == null)
+			return false;
+		synchronized (STATES) {
+			State state = STATES.get(editingDomain);
+			if (state == null)
+				return false;
+			state.dirtySections.add(section);
+			return true;
+		}
+	}
+
+	/**
+	 * Closes this suspension. When the last suspension of the editing domain
+	 * is closed, the sections which missed refreshes are refreshed once.
+	 * Closing a suspension more than once has no effect.
+	 */
+	public void close() {
+		AbstractSection[] dirtySections;
+		synchronized (STATES) {
+			if (closed)
+				return;
+			closed = true;
+			State state = STATES.get(editingDomain);
+			if (state == null || --state.depth > 0)
+				return;
+			STATES.remove(editingDomain);
+			dirtySections = state.dirtySections.toArray(new AbstractSection[state.dirtySections.size()]);
+		}
+		for (AbstractSection section : dirtySections)
+			section.resumeRefresh();
+	}
+
+	/**
+	 * Suspension state of an editing domain
+	 */
+	private static class State {
+
+		/**
+		 * Number of open suspensions
+		 */
+		private int depth;
+
+		/**
+		 * Sections which missed refreshes during the suspension. They are
+		 * weakly held, since they reference the editing domain used as key.
+		 */
+		private final Set<AbstractSection> dirtySections = Collections
+				.newSetFromMap(new WeakHashMap<AbstractSection, Boolean>());
+	}
+}
@@ -0,0 +1,243 @@
+package com.worldline.gmf.propertysections.core.binding;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.edit.command.SetCommand;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+
+import com.worldline.gmf.propertysections.core.helpers.AbstractControlChangeHelper;
+
+/**
+ * Two-way binding between a feature path of the selected EObject and a
+ * control. The path is made of single-valued references, followed by the
+ * bound feature: the binding observes exactly the features along the path,
+ * and updates the control when one of them changes, without reading the
+ * other features of the model. The edits of the control are written back
+ * through a change helper, only when the converted value differs from the
+ * model value.
+ * 
+ * Bindings are usually registered in a zone with AbstractZone.addBinding(),
+ * which moves them to the selected EObject.
+ * 
+ * @since 1.0.1
+ */
+public abstract class Binding {
+
+	/**
+	 * Context in which edits are written back
+	 */
+	private final BindingContext context;
+
+	/**
+	 * Bound control
+	 */
+	private final Control control;
+
+	/**
+	 * Converter between feature and control values
+	 */
+	private final Converter converter;
+
+	/**
+	 * Features of the path, the bound feature being the last one
+	 */
+	private final EStructuralFeature[] path;
+
+	/**
+	 * Objects owning each feature of the path, null if not reachable
+	 */
+	private final EObject[] owners;
+
+	/**
+	 * Change helper writing back the edits of the control
+	 */
+	private AbstractControlChangeHelper changeHelper;
+
+	/**
+	 * Adapter observing the features of the path
+	 */
+	private final Adapter pathAdapter = new AdapterImpl() {
+		@Override
+		public void notifyChanged(Notification notification) {
+			if (notification.isTouch())
+				return;
+			for (int i = 0; i < owners.length; i++) {
+				if (notification.getNotifier() == owners[i] && notification.getFeature() == path[i]) {
+					final int index = i;
+					final Object notifier = notification.getNotifier();
+					if (Display.getCurrent() != null)
+						pathChanged(index, notifier);
+					else if (!control.isDisposed())
+						control.getDisplay().asyncExec(new Runnable() {
+							public void run() {
+								if (!control.isDisposed())
+									pathChanged(index, notifier);
+							}
+						});
+					return;
+				}
+			}
+		}
+	};
+
+	/**
+	 * Constructor
+	 * 
+	 * @param context :
+	 *            context in which edits are written back
+	 * @param control :
+	 *            bound control
+	 * @param converter :
+	 *            converter between feature and control values, null for none
+	 * @param path :
+	 *            single-valued references leading from the selected EObject
+	 *            to the owner of the bound feature, followed by the bound
+	 *            feature
+	 */
+	protected Binding(BindingContext context, Control control, Converter converter, EStructuralFeature... path) {
+		if (path.length == 0)
+			throw new IllegalArgumentException();
+		this.context = context;
+		this.control = control;
+		this.converter = converter != null ? converter : Converter.IDENTITY;
+		this.path = path.clone();
+		this.owners = new EObject[path.length];
+	}
+
+	/**
+	 * Moves this binding to another root EObject, and updates the control.
+	 * Nothing is done if the root is unchanged.
+	 * 
+	 * @param root :
+	 *            new root of the path, or null to detach this binding
+	 */
+	public final void setRoot(EObject root) {
+		if (root == owners[0])
+			return;
+		resolve(0, root);
+		if (root != null && changeHelper == null && !control.isDisposed()) {
+			changeHelper = createChangeHelper();
+			changeHelper.startListeningTo(control);
+		} else if (root == null && changeHelper != null) {
+			changeHelper.stopListeningTo(control);
+			changeHelper = null;
+		}
+		if (root != null)
+			updateControl();
+	}
+
+	/**
+	 * @return the root of the path, or null if detached
+	 */
+	public final EObject getRoot() {
+		return owners[0];
+	}
+
+	/**
+	 * @return the bound control
+	 */
+	public final Control getControl() {
+		return control;
+	}
+
+	/**
+	 * Reads the bound feature, and displays its value in the control, as a
+	 * programmatic change.
+	 */
+	public final void updateControl() {
+		if (control.isDisposed())
+			return;
+		EObject owner = owners[owners.length - 1];
+		Object value = owner == null ? null : owner.eGet(path[path.length - 1]);
+		if (changeHelper == null) {
+			setControlValue(converter.toControl(value));
+			return;
+		}
+		try (AbstractControlChangeHelper.NonUserChange change = changeHelper.openNonUserChange()) {
+			setControlValue(converter.toControl(value));
+		}
+	}
+
+	/**
+	 * Writes the value of the control back to the bound feature, if it differs
+	 * from the model value. If the value cannot be converted, the control
+	 * displays the model value again.
+	 */
+	public final void updateModel() {
+		EObject owner = owners[owners.length - 1];
+		if (owner == null || control.isDisposed() || context.getEditingDomain() == null)
+			return;
+		Object value;
+		try {
+			value = converter.toModel(getControlValue());
+		} catch (IllegalArgumentException e) {
+			updateControl();
+			return;
+		}
+		EStructuralFeature feature = path[path.length - 1];
+		Object current = owner.eGet(feature);
+		if (value == null ? current == null : value.equals(current))
+			return;
+		context.execute(SetCommand.create(context.getEditingDomain(), owner, feature, value));
+	}
+
+	/**
+	 * Reacts to the change of a feature of the path. A change replayed in the
+	 * UI thread is ignored if the path has been resolved again in between, and
+	 * no longer goes through its notifier: the resolution already read the
+	 * current values.
+	 */
+	private void pathChanged(int index, Object notifier) {
+		if (owners[index] != notifier)
+			return;
+		if (index < path.length - 1) {
+			Object next = owners[index].eGet(path[index]);
+			resolve(index + 1, next instanceof EObject ? (EObject) next : null);
+		}
+		updateControl();
+	}
+
+	/**
+	 * Resolves the owners of the path from an index, and moves the adapter
+	 * accordingly
+	 */
+	private void resolve(int index, EObject owner) {
+		for (int i = index; i < owners.length; i++) {
+			if (owners[i] != null)
+				owners[i].eAdapters().remove(pathAdapter);
+			owners[i] = owner;
+			if (owner != null)
+				owner.eAdapters().add(pathAdapter);
+			if (i < owners.length - 1) {
+				Object next = owner == null ? null : owner.eGet(path[i]);
+				owner = next instanceof EObject ? (EObject) next : null;
+			}
+		}
+	}
+
+	/**
+	 * Creates the change helper listening to the control, which writes its
+	 * edits back by calling updateModel() when the change is not a
+	 * programmatic one.
+	 * 
+	 * @return change helper of the control
+	 */
+	protected abstract AbstractControlChangeHelper createChangeHelper();
+
+	/**
+	 * @return the current value of the control
+	 */
+	protected abstract Object getControlValue();
+
+	/**
+	 * Displays a value in the control
+	 * 
+	 * @param value :
+	 *            value to display, converted
+	 */
+	protected abstract void setControlValue(Object value);
+}
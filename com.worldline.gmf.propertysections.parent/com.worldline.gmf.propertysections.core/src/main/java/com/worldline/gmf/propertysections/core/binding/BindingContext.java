@@ -0,0 +1,28 @@
+package com.worldline.gmf.propertysections.core.binding;
+
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+
+/**
+ * Context in which bindings write the values edited in their controls back
+ * to the model. Zones provide their context with
+ * AbstractZone.getBindingContext(), which executes the commands as the zone's
+ * own commands (batched or not).
+ * 
+ * @since 1.0.1
+ */
+public abstract class BindingContext {
+
+	/**
+	 * @return editing domain of the bound model, or null if none
+	 */
+	public abstract TransactionalEditingDomain getEditingDomain();
+
+	/**
+	 * Executes a command produced by a binding
+	 * 
+	 * @param command :
+	 *            command to execute
+	 */
+	public abstract void execute(Command command);
+}
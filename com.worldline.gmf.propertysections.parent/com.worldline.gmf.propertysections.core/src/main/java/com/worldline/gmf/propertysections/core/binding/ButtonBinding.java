@@ -0,0 +1,58 @@
+package com.worldline.gmf.propertysections.core.binding;
+
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Control;
+
+import com.worldline.gmf.propertysections.core.helpers.AbstractControlChangeHelper;
+import com.worldline.gmf.propertysections.core.helpers.AbstractSelectionChangeHelper;
+
+/**
+ * Binding between a feature path and the selection of a check or toggle
+ * Button. Control values are Booleans; edits are written back when the
+ * Button is selected.
+ * 
+ * @since 1.0.1
+ */
+public class ButtonBinding extends Binding {
+
+	/**
+	 * Constructor
+	 * 
+	 * @param context :
+	 *            context in which edits are written back
+	 * @param button :
+	 *            bound Button
+	 * @param converter :
+	 *            converter between feature values and Booleans, null if the
+	 *            feature is a boolean one
+	 * @param path :
+	 *            single-valued references leading from the selected EObject
+	 *            to the owner of the bound feature, followed by the bound
+	 *            feature
+	 */
+	public ButtonBinding(BindingContext context, Button button, Converter converter, EStructuralFeature... path) {
+		super(context, button, converter, path);
+	}
+
+	@Override
+	protected AbstractControlChangeHelper createChangeHelper() {
+		return new AbstractSelectionChangeHelper() {
+			@Override
+			public void buttonSelected(Control control) {
+				if (!isNonUserChange())
+					updateModel();
+			}
+		};
+	}
+
+	@Override
+	protected Object getControlValue() {
+		return Boolean.valueOf(((Button) getControl()).getSelection());
+	}
+
+	@Override
+	protected void setControlValue(Object value) {
+		((Button) getControl()).setSelection(Boolean.TRUE.equals(value));
+	}
+}
@@ -0,0 +1,45 @@
+package com.worldline.gmf.propertysections.core.binding;
+
+/**
+ * Converter between the values of a feature and the values of a control.
+ * Conversions to the model may throw an IllegalArgumentException when the
+ * value entered in the control is invalid: the control then displays the
+ * model value again.
+ * 
+ * @since 1.0.1
+ */
+public interface Converter {
+
+	/**
+	 * Converter leaving the values unchanged
+	 */
+	Converter IDENTITY = new Converter() {
+		public Object toControl(Object modelValue) {
+			return modelValue;
+		}
+
+		public Object toModel(Object controlValue) {
+			return controlValue;
+		}
+	};
+
+	/**
+	 * Converts a value of the feature into a value of the control
+	 * 
+	 * @param modelValue :
+	 *            value of the feature
+	 * @return value of the control
+	 */
+	Object toControl(Object modelValue);
+
+	/**
+	 * Converts a value of the control into a value of the feature
+	 * 
+	 * @param controlValue :
+	 *            value of the control
+	 * @return value of the feature
+	 * @throws IllegalArgumentException
+	 *             if the control value cannot be converted
+	 */
+	Object toModel(Object controlValue);
+}
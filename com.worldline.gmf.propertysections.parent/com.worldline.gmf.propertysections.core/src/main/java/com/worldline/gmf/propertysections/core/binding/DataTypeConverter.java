@@ -0,0 +1,49 @@
+package com.worldline.gmf.propertysections.core.binding;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Converter between the values of an attribute and strings, using the
+ * factory of the attribute's data type. Empty strings are converted into
+ * null.
+ * 
+ * @since 1.0.1
+ */
+public class DataTypeConverter implements Converter {
+
+	/**
+	 * Data type of the converted values
+	 */
+	private final EDataType dataType;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param attribute :
+	 *            attribute which values are converted
+	 */
+	public DataTypeConverter(EAttribute attribute) {
+		this.dataType = attribute.getEAttributeType();
+	}
+
+	public Object toControl(Object modelValue) {
+		if (modelValue == null)
+			return "";
+		String text = EcoreUtil.convertToString(dataType, modelValue);
+		return text == null ? "" : text;
+	}
+
+	public Object toModel(Object controlValue) {
+		String text = controlValue == null ? "" : controlValue.toString();
+		Class<?> instanceClass = dataType.getInstanceClass();
+		if (text.length() == 0 && (instanceClass == null || !instanceClass.isPrimitive()))
+			return null;
+		try {
+			return EcoreUtil.createFromString(dataType, text);
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.worldline.gmf.propertysections.core.binding;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Text;
+
+import com.worldline.gmf.propertysections.core.helpers.AbstractControlChangeHelper;
+import com.worldline.gmf.propertysections.core.helpers.AbstractTextChangeHelper;
+
+/**
+ * Binding between a feature path and a Text. The edits are written back when
+ * the Text loses the focus, or when Enter is pressed in a single-line Text.
+ * 
+ * @since 1.0.1
+ */
+public class TextBinding extends Binding {
+
+	/**
+	 * Constructor
+	 * 
+	 * @param context :
+	 *            context in which edits are written back
+	 * @param text :
+	 *            bound Text
+	 * @param converter :
+	 *            converter between feature values and strings
+	 * @param path :
+	 *            single-valued references leading from the selected EObject
+	 *            to the owner of the bound feature, followed by the bound
+	 *            feature
+	 */
+	public TextBinding(BindingContext context, Text text, Converter converter, EStructuralFeature... path) {
+		super(context, text, converter, path);
+	}
+
+	/**
+	 * Constructor binding a Text to an attribute, converted with a
+	 * DataTypeConverter
+	 * 
+	 * @param context :
+	 *            context in which edits are written back
+	 * @param text :
+	 *            bound Text
+	 * @param attribute :
+	 *            bound attribute of the selected EObject
+	 */
+	public TextBinding(BindingContext context, Text text, EAttribute attribute) {
+		this(context, text, new DataTypeConverter(attribute), attribute);
+	}
+
+	@Override
+	protected AbstractControlChangeHelper createChangeHelper() {
+		AbstractTextChangeHelper changeHelper = new AbstractTextChangeHelper() {
+			@Override
+			public void textChanged(Control control) {
+				if (!isNonUserChange())
+					updateModel();
+			}
+		};
+		if ((getControl().getStyle() & SWT.SINGLE) != 0)
+			changeHelper.startListeningForEnter(getControl());
+		return changeHelper;
+	}
+
+	@Override
+	protected Object getControlValue() {
+		return ((Text) getControl()).getText();
+	}
+
+	@Override
+	protected void setControlValue(Object value) {
+		((Text) getControl()).setText(value == null ? "" : value.toString());
+	}
+}
@@ -1,6 +1,11 @@
 package com.worldline.gmf.propertysections.core.helpers;
 
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.gmf.runtime.diagram.ui.parts.DiagramEventBroker;
+import org.eclipse.gmf.runtime.diagram.ui.parts.DiagramEventBrokerThreadSafe;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Listener;
 
@@ -16,42 +21,199 @@ import com.worldline.gmf.propertysections.core.internal.Messages;
  */
 public abstract class AbstractControlChangeHelper implements Listener {
 
-	private boolean nonUserChange;
+	/**
+	 * Key of the widget data telling that the user is editing a control
+	 */
+	private static final String EDIT_IN_PROGRESS = "editInProgress"; //$NON-NLS-1$
+
+	/**
+	 * Depth of the programmatic changes in progress, confined to the thread
+	 * that started them.
+	 */
+	private final ThreadLocal<int[]> nonUserChangeDepth = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[1];
+		}
+	};
 
 	/**
 	 * Marks the start of a programmatic change to the widget contents. Clients
 	 * must call startNonUserChange() before directly setting the widget
 	 * contents to avoid unwanted lifecycle events.
 	 * 
-	 * @throws IllegalArgumentException
-	 *             if a programmatic change is already in progress.
+	 * Programmatic changes can be nested: each call must be balanced by a call
+	 * to finishNonUserChange(), in the same thread.
 	 */
 	public void startNonUserChange() {
-		if (nonUserChange)
-			throw new IllegalStateException(Messages.ERROR_CHANGE_STARTED.value());//$NON-NLS-1$
-		nonUserChange = true;
+		nonUserChangeDepth.get()[0]++;
 	}
 
 	/**
 	 * Clients who call startNonUserChange() should call finishNonUserChange()
 	 * as soon as possible after the change is done.
 	 * 
-	 * @throws IllegalArgumentException
-	 *             if no change is in progress.
+	 * @throws IllegalStateException
+	 *             if no change is in progress in the current thread.
 	 */
 	public void finishNonUserChange() {
-		if (!nonUserChange)
+		int[] depth = nonUserChangeDepth.get();
+		if (depth[0] == 0)
 			throw new IllegalStateException(Messages.ERROR_NOT_IN_CHANGE.value());//$NON-NLS-1$
-		nonUserChange = false;
+		depth[0]--;
+	}
+
+	/**
+	 * Starts a programmatic change, and returns the handle finishing it. This
+	 * is meant to be used in a try-with-resources statement:
+	 * 
+	 * <pre>
+	 * try (NonUserChange change = helper.openNonUserChange()) {
+	 * 	text.setText(value);
+	 * }
+	 * </pre>
+	 * 
+	 * @return the handle finishing the programmatic change when closed.
+	 */
+	public NonUserChange openNonUserChange() {
+		startNonUserChange();
+		return new NonUserChange();
 	}
 
 	/**
-	 * Determine if a programmatic change is in progress.
+	 * Determine if a programmatic change is in progress in the current thread.
 	 * 
 	 * @return <code>true</code> if a programmatic change is in progress.
 	 */
 	public boolean isNonUserChange() {
-		return nonUserChange;
+		return nonUserChangeDepth.get()[0] > 0;
+	}
+
+	/**
+	 * @return the number of nested programmatic changes in progress in the
+	 *         current thread.
+	 */
+	public int getNonUserChangeDepth() {
+		return nonUserChangeDepth.get()[0];
+	}
+
+	/**
+	 * Handle on a programmatic change, returned by openNonUserChange(). Closing
+	 * it finishes the change; closing it more than once has no effect.
+	 */
+	public final class NonUserChange implements AutoCloseable {
+
+		/**
+		 * Thread that started the change
+		 */
+		private final Thread owner = Thread.currentThread();
+
+		/**
+		 * Tells if the change has already been finished
+		 */
+		private boolean closed;
+
+		/**
+		 * Finishes the programmatic change.
+		 * 
+		 * @throws IllegalStateException
+		 *             if called from another thread than the one that started
+		 *             the change.
+		 */
+		public void close() {
+			if (closed)
+				return;
+			if (Thread.currentThread() != owner)
+				throw new IllegalStateException(Messages.ERROR_CHANGE_OTHER_THREAD.value());//$NON-NLS-1$
+			closed = true;
+			finishNonUserChange();
+		}
+	}
+
+	/**
+	 * Marks or unmarks the control as being edited by the user, i.e. as holding
+	 * a value which has not been committed yet.
+	 * 
+	 * @param control
+	 *            the given control.
+	 * @param inProgress
+	 *            true if the user started editing the control, false once the
+	 *            change is done.
+	 */
+	protected static void setEditInProgress(Control control, boolean inProgress) {
+		if (!control.isDisposed())
+			control.setData(EDIT_IN_PROGRESS, inProgress ? Boolean.TRUE : null);
+	}
+
+	/**
+	 * Determine if the user is editing the control, i.e. if the control holds
+	 * a value which has not been committed yet.
+	 * 
+	 * @param control
+	 *            the given control.
+	 * @return <code>true</code> if an edit is in progress on the control.
+	 */
+	public static boolean isEditInProgress(Control control) {
+		return control != null && !control.isDisposed() && Boolean.TRUE.equals(control.getData(EDIT_IN_PROGRESS));
+	}
+
+	/**
+	 * Executes a command out of the UI thread, so that the widget keeps the
+	 * value entered by the user while the transaction is committed. If the
+	 * command cannot be executed, or if its transaction is rolled back, the
+	 * reconciliation is run in the UI thread, as a programmatic change, to
+	 * bring the widget back in line with the model.
+	 * <p>
+	 * The post-commit listeners of the editing domain are notified in the
+	 * thread committing the transaction. The command is therefore executed
+	 * out of the UI thread only if the editing domain uses a
+	 * DiagramEventBrokerThreadSafe, which forwards the notifications to the
+	 * edit parts in the UI thread; otherwise it is executed synchronously.
+	 * This method must be called from the UI thread.
+	 * 
+	 * @param editingDomain
+	 *            the editing domain on which the command is executed.
+	 * @param command
+	 *            the command to execute.
+	 * @param reconciliation
+	 *            the code restoring the widget from the model.
+	 */
+	public void executeAsync(TransactionalEditingDomain editingDomain, Command command,
+			final Runnable reconciliation) {
+		if (editingDomain == null || command == null)
+			return;
+		if (!command.canExecute()) {
+			reconcile(reconciliation);
+			return;
+		}
+		if (!(DiagramEventBroker.getInstance(editingDomain) instanceof DiagramEventBrokerThreadSafe)) {
+			editingDomain.getCommandStack().execute(command);
+			return;
+		}
+		final Display display = Display.getCurrent();
+		new AsyncCommandJob(editingDomain, command, new Runnable() {
+			public void run() {
+				if (display.isDisposed())
+					return;
+				display.asyncExec(new Runnable() {
+					public void run() {
+						reconcile(reconciliation);
+					}
+				});
+			}
+		}).schedule();
+	}
+
+	/**
+	 * Runs the reconciliation as a programmatic change.
+	 * 
+	 * @param reconciliation
+	 *            the code restoring the widget from the model.
+	 */
+	private void reconcile(Runnable reconciliation) {
+		try (NonUserChange change = openNonUserChange()) {
+			reconciliation.run();
+		}
 	}
 
 	/**
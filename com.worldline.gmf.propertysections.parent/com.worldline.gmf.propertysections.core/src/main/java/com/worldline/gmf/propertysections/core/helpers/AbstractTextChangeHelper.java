@@ -19,11 +19,18 @@ public abstract class AbstractTextChangeHelper extends AbstractControlChangeHelp
 	 */
 	public void handleEvent(Event event) {
 		switch (event.type) {
+		case SWT.Modify:
+			if (!isNonUserChange())
+				setEditInProgress((Control) event.widget, true);
+			break;
 		case SWT.KeyDown:
-			if (event.character == SWT.CR)
+			if (event.character == SWT.CR) {
+				setEditInProgress((Control) event.widget, false);
 				textChanged((Control) event.widget);
+			}
 			break;
 		case SWT.FocusOut:
+			setEditInProgress((Control) event.widget, false);
 			textChanged((Control) event.widget);
 			break;
 		}
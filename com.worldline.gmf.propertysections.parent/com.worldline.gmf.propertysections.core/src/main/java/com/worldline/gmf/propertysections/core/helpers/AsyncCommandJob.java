@@ -0,0 +1,106 @@
+package com.worldline.gmf.propertysections.core.helpers;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.common.command.CommandStack;
+import org.eclipse.emf.transaction.RollbackException;
+import org.eclipse.emf.transaction.TransactionalCommandStack;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+
+import com.worldline.gmf.propertysections.core.internal.Activator;
+import com.worldline.gmf.propertysections.core.internal.Messages;
+
+/**
+ * Job executing a command on the command stack of an editing domain, out of
+ * the UI thread. Jobs executed on the same editing domain are serialized, so
+ * that edits are committed in the order they were made. The command is
+ * expected to be checked as executable by the caller, in the UI thread. If its
+ * transaction is rolled back, the failure callback is run.
+ *
+ * @since 1.0.1
+ */
+class AsyncCommandJob extends Job {
+
+	/**
+	 * Editing domain on which the command is executed
+	 */
+	private final TransactionalEditingDomain editingDomain;
+
+	/**
+	 * Command to execute
+	 */
+	private final Command command;
+
+	/**
+	 * Callback run when the command could not be committed
+	 */
+	private final Runnable onFailure;
+
+	/**
+	 * Constructor
+	 *
+	 * @param editingDomain
+	 *            : editing domain on which the command is executed
+	 * @param command
+	 *            : command to execute
+	 * @param onFailure
+	 *            : callback run when the command could not be committed
+	 */
+	AsyncCommandJob(TransactionalEditingDomain editingDomain, Command command, Runnable onFailure) {
+		super(Messages.ASYNC_COMMAND_JOB_NAME.value(command.getLabel()));
+		this.editingDomain = editingDomain;
+		this.command = command;
+		this.onFailure = onFailure;
+		setSystem(true);
+		setRule(new EditingDomainRule(editingDomain));
+	}
+
+	/**
+	 * @see org.eclipse.core.runtime.jobs.Job#run(org.eclipse.core.runtime.IProgressMonitor)
+	 */
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		CommandStack commandStack = editingDomain.getCommandStack();
+		try {
+			if (commandStack instanceof TransactionalCommandStack)
+				((TransactionalCommandStack) commandStack).execute(command, null);
+			else
+				commandStack.execute(command);
+			return Status.OK_STATUS;
+		} catch (InterruptedException e) {
+			onFailure.run();
+			return Status.CANCEL_STATUS;
+		} catch (RollbackException e) {
+			onFailure.run();
+			return e.getStatus();
+		} catch (RuntimeException e) {
+			onFailure.run();
+			return new Status(IStatus.ERROR, Activator.PLUGIN_ID, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Scheduling rule preventing two jobs from running at the same time on the
+	 * same editing domain.
+	 */
+	private static class EditingDomainRule implements ISchedulingRule {
+
+		private final TransactionalEditingDomain editingDomain;
+
+		EditingDomainRule(TransactionalEditingDomain editingDomain) {
+			this.editingDomain = editingDomain;
+		}
+
+		public boolean contains(ISchedulingRule rule) {
+			return isConflicting(rule);
+		}
+
+		public boolean isConflicting(ISchedulingRule rule) {
+			return rule instanceof EditingDomainRule && ((EditingDomainRule) rule).editingDomain == editingDomain;
+		}
+	}
+}
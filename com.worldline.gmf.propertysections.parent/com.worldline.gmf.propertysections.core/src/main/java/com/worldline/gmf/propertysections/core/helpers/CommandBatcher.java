@@ -0,0 +1,154 @@
+package com.worldline.gmf.propertysections.core.helpers;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.common.command.CompoundCommand;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.swt.widgets.Display;
+
+import com.worldline.gmf.propertysections.core.internal.Activator;
+import com.worldline.gmf.propertysections.core.internal.Messages;
+
+/**
+ * CommandBatcher gathers the commands produced by the change helpers of a
+ * section during an edit burst, and executes them as one compound command on
+ * the command stack. This way, one write transaction, one validation pass and
+ * one post-commit notification round are performed for several edits.
+ *
+ * The pending commands are executed when no new command has been appended
+ * during the batch delay, or when flush() is explicitly called.
+ *
+ * @since 1.0.1
+ */
+public class CommandBatcher {
+
+	/**
+	 * Default delay, in ms, after which pending commands are executed.
+	 */
+	public static final int DEFAULT_DELAY = 500;
+
+	/**
+	 * Display on which the flush timer is scheduled
+	 */
+	private final Display display;
+
+	/**
+	 * Delay, in ms, after which pending commands are executed
+	 */
+	private final int delay;
+
+	/**
+	 * Editing domain the pending commands are executed on
+	 */
+	private TransactionalEditingDomain editingDomain;
+
+	/**
+	 * Commands waiting for execution
+	 */
+	private CompoundCommand pendingCommand;
+
+	/**
+	 * Callback run after the pending commands are executed
+	 */
+	private Runnable flushCallback;
+
+	/**
+	 * Runnable used to flush pending commands when the delay expires
+	 */
+	private final Runnable flushRunnable = new Runnable() {
+		public void run() {
+			flush();
+		}
+	};
+
+	/**
+	 * Constructor
+	 *
+	 * @param display
+	 *            : Display on which the flush timer is scheduled
+	 * @param delay
+	 *            : delay, in ms, after which pending commands are executed
+	 */
+	public CommandBatcher(Display display, int delay) {
+		this.display = display;
+		this.delay = delay;
+	}
+
+	/**
+	 * Sets the callback run after each execution of the pending commands,
+	 * e.g. to refresh the widgets which kept the edited values meanwhile.
+	 *
+	 * @param flushCallback
+	 *            : callback, or null for none
+	 */
+	public void setFlushCallback(Runnable flushCallback) {
+		this.flushCallback = flushCallback;
+	}
+
+	/**
+	 * Appends a command to the current batch. If the batch was started on
+	 * another editing domain, it is flushed first. A command which cannot be
+	 * executed is logged and ignored, so that it does not prevent the
+	 * execution of the whole batch.
+	 *
+	 * @param editingDomain
+	 *            : editing domain the command has to be executed on
+	 * @param command
+	 *            : command to execute
+	 */
+	public void append(TransactionalEditingDomain editingDomain, Command command) {
+		if (editingDomain == null || command == null)
+			return;
+		if (!command.canExecute()) {
+			Activator activator = Activator.getDefault();
+			if (activator != null)
+				activator.getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID,
+						Messages.ERROR_COMMAND_NOT_EXECUTABLE.value(command.getLabel())));
+			return;
+		}
+		if (this.editingDomain != null && this.editingDomain != editingDomain)
+			flush();
+		this.editingDomain = editingDomain;
+		if (this.pendingCommand == null)
+			this.pendingCommand = new CompoundCommand(Messages.BATCHED_COMMAND_LABEL.value());
+		this.pendingCommand.append(command);
+		if (!this.display.isDisposed())
+			this.display.timerExec(this.delay, this.flushRunnable);
+	}
+
+	/**
+	 * Executes the pending commands, if any, in one single transaction. If
+	 * the editing domain can no longer execute them, e.g. once its editor has
+	 * been closed and the domain disposed, the failure is logged and the
+	 * pending commands are dropped.
+	 */
+	public void flush() {
+		if (!this.display.isDisposed())
+			this.display.timerExec(-1, this.flushRunnable);
+		if (this.pendingCommand == null)
+			return;
+		CompoundCommand command = this.pendingCommand;
+		TransactionalEditingDomain domain = this.editingDomain;
+		this.pendingCommand = null;
+		this.editingDomain = null;
+		try {
+			domain.getCommandStack().execute(command.unwrap());
+		} catch (RuntimeException e) {
+			Activator activator = Activator.getDefault();
+			if (activator != null)
+				activator.getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID,
+						Messages.ERROR_BATCH_NOT_EXECUTED.value(command.getLabel()), e));
+			return;
+		}
+		if (this.flushCallback != null)
+			this.flushCallback.run();
+	}
+
+	/**
+	 * @return true if commands are waiting for execution
+	 */
+	public boolean hasPendingCommands() {
+		return this.pendingCommand != null;
+	}
+}
@@ -11,7 +11,7 @@ import java.text.MessageFormat;
  *
  */
 public enum Messages {
-	ERROR_CHANGE_STARTED, ERROR_NOT_IN_CHANGE;
+	ERROR_NOT_IN_CHANGE, ERROR_CHANGE_OTHER_THREAD, BATCHED_COMMAND_LABEL, ERROR_COMMAND_NOT_EXECUTABLE, ERROR_BATCH_NOT_EXECUTED, ASYNC_COMMAND_JOB_NAME, FEATURE_COLUMN_LABEL, VALUE_COLUMN_LABEL, BULK_SET_COMMAND_LABEL, ELEMENT_COLUMN_LABEL, MIXED_VALUE;
 	
 	/*
 	 * ResourceBundle instance
@@ -0,0 +1,101 @@
+/**
+ * GMF Properties View Tooling
+ *
+ * Copyright (C) 2013 Worldline or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package com.worldline.gmf.propertysections.core.tools;
+
+import java.util.Collection;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.transaction.RecordingCommand;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+
+import com.worldline.gmf.propertysections.core.internal.Messages;
+
+/**
+ * Command setting the same value of a feature on many elements, in one single
+ * transaction. No command is created per element: changes are recorded while
+ * the elements are walked through, and undone or redone as a whole. Elements
+ * which EClass does not own the feature, or already holding the value, are
+ * skipped.
+ * 
+ * @since 1.0.1
+ * 
+ */
+public class BulkSetCommand extends RecordingCommand {
+
+	/*
+	 * Elements to update
+	 */
+	private final EObject[] owners;
+
+	/*
+	 * Feature to set
+	 */
+	private final EStructuralFeature feature;
+
+	/*
+	 * Value to set
+	 */
+	private final Object value;
+
+	/**
+	 * Creates a new command setting a value on many elements
+	 * 
+	 * @param editingDomain
+	 *            editing domain of the elements
+	 * @param owners
+	 *            elements to update
+	 * @param feature
+	 *            feature to set
+	 * @param value
+	 *            value to set
+	 */
+	public BulkSetCommand(final TransactionalEditingDomain editingDomain, final Collection<? extends EObject> owners,
+			final EStructuralFeature feature, final Object value) {
+		super(editingDomain, Messages.BULK_SET_COMMAND_LABEL.value(feature.getName()));
+		this.owners = owners.toArray(new EObject[owners.size()]);
+		this.feature = feature;
+		this.value = value;
+	}
+
+	/**
+	 * @see org.eclipse.emf.common.command.AbstractCommand#canExecute()
+	 */
+	@Override
+	public boolean canExecute() {
+		return this.owners.length > 0 && this.feature.isChangeable() && !this.feature.isMany();
+	}
+
+	/**
+	 * @see org.eclipse.emf.transaction.RecordingCommand#doExecute()
+	 */
+	@Override
+	protected void doExecute() {
+		for (EObject owner : this.owners) {
+			if (owner.eClass().getFeatureID(this.feature) < 0)
+				continue;
+			Object oldValue = owner.eGet(this.feature);
+			if (this.value == null ? oldValue != null : !this.value.equals(oldValue))
+				owner.eSet(this.feature, this.value);
+		}
+	}
+}
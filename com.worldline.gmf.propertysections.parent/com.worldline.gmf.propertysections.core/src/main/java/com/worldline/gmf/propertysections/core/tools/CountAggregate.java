@@ -0,0 +1,101 @@
+/**
+ * GMF Properties View Tooling
+ *
+ * Copyright (C) 2013 Worldline or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package com.worldline.gmf.propertysections.core.tools;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Incremental aggregate counting the elements of a containment subtree,
+ * optionally restricted to the instances of an EClass. Subclasses may
+ * override accept() to count other elements, for instance the ones holding
+ * unresolved references.
+ * 
+ * @since 1.0.1
+ */
+public class CountAggregate extends IncrementalAggregate<Integer> {
+
+	/**
+	 * Contribution of a counted element
+	 */
+	private static final Integer ONE = Integer.valueOf(1);
+
+	/**
+	 * Type of the counted elements, null to count all of them
+	 */
+	private final EClass type;
+
+	/**
+	 * Number of counted elements
+	 */
+	private volatile int count;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param type :
+	 *            type of the counted elements, or null to count all the
+	 *            elements of the subtree
+	 */
+	public CountAggregate(EClass type) {
+		this.type = type;
+	}
+
+	/**
+	 * Tells whether an element of the subtree is counted. Its features may be
+	 * read: the element is checked again each time one of them changes.
+	 * 
+	 * @param element :
+	 *            element of the subtree
+	 * @return true if the element is counted
+	 */
+	protected boolean accept(EObject element) {
+		return type == null || type.isInstance(element);
+	}
+
+	@Override
+	protected final Integer getContribution(EObject element) {
+		return accept(element) ? ONE : null;
+	}
+
+	@Override
+	protected final void add(Integer contribution) {
+		count++;
+	}
+
+	@Override
+	protected final void remove(Integer contribution) {
+		count--;
+	}
+
+	/**
+	 * @return the number of counted elements
+	 */
+	public final int getCount() {
+		return count;
+	}
+
+	@Override
+	public Object getValue() {
+		return Integer.valueOf(count);
+	}
+}
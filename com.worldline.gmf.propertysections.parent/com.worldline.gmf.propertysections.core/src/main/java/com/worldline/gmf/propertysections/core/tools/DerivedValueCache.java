@@ -0,0 +1,265 @@
+/**
+ * GMF Properties View Tooling
+ *
+ * Copyright (C) 2013 Worldline or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package com.worldline.gmf.propertysections.core.tools;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * Memoized derived value (qualified name, resolved type, inherited default...)
+ * computed by a function over an EObject. The value of each object is
+ * computed once, then read from the cache until one of the declared features
+ * changes on one of the objects visited while computing it.
+ * 
+ * Objects are visited through the Reader passed to the function, which
+ * records them as dependencies. For instance, a qualified name reading the
+ * name of each container:
+ * 
+ * <pre>
+ * new DerivedValueCache&lt;String&gt;(new DerivedValueCache.Function&lt;String&gt;() {
+ * 	public String compute(EObject object, DerivedValueCache.Reader reader) {
+ * 		String name = (String) reader.get(object, NAME);
+ * 		EObject container = reader.getContainer(object);
+ * 		return container == null ? name : compute(container, reader) + &quot;.&quot; + name;
+ * 	}
+ * }, NAME);
+ * </pre>
+ * 
+ * Caches are usually registered in a zone with AbstractZone.addDerivedValue(),
+ * which clears them when the selection changes and when the section is
+ * disposed.
+ * 
+ * @param <V>
+ *            type of the derived value
+ * 
+ * @since 1.0.1
+ */
+public class DerivedValueCache<V> {
+
+	/**
+	 * Function computing the derived value of an object
+	 * 
+	 * @param <V>
+	 *            type of the derived value
+	 */
+	public interface Function<V> {
+
+		/**
+		 * Computes the derived value of an object. All the objects read must be
+		 * accessed through the reader.
+		 * 
+		 * @param object :
+		 *            object which value is computed
+		 * @param reader :
+		 *            reader recording the visited objects
+		 * @return derived value
+		 */
+		V compute(EObject object, Reader reader);
+	}
+
+	/**
+	 * Reader recording the objects visited while a derived value is computed
+	 */
+	public static final class Reader {
+
+		/**
+		 * Objects visited during the computation
+		 */
+		private final Set<EObject> visited = new LinkedHashSet<EObject>();
+
+		/**
+		 * Constructor
+		 */
+		private Reader() {
+		}
+
+		/**
+		 * Reads a feature of an object, recording the object as a dependency
+		 * 
+		 * @param object :
+		 *            object to read
+		 * @param feature :
+		 *            feature to read
+		 * @return value of the feature
+		 */
+		public Object get(EObject object, EStructuralFeature feature) {
+			visited.add(object);
+			return object.eGet(feature);
+		}
+
+		/**
+		 * Reads the container of an object, recording the object as a
+		 * dependency. To see the object move to another container, the
+		 * containment feature has to be declared, and the container read
+		 * through this reader too.
+		 * 
+		 * @param object :
+		 *            object which container is read
+		 * @return container of the object, or null
+		 */
+		public EObject getContainer(EObject object) {
+			visited.add(object);
+			return object.eContainer();
+		}
+	}
+
+	/**
+	 * Function computing the derived values
+	 */
+	private final Function<V> function;
+
+	/**
+	 * Features which changes invalidate the derived values. Empty for all the
+	 * features.
+	 */
+	private final Set<EStructuralFeature> features;
+
+	/**
+	 * Memoized values
+	 */
+	private final Map<EObject, V> values = new HashMap<EObject, V>();
+
+	/**
+	 * Objects visited to compute each memoized value
+	 */
+	private final Map<EObject, Set<EObject>> dependencies = new HashMap<EObject, Set<EObject>>();
+
+	/**
+	 * Objects which memoized value depends on each visited object
+	 */
+	private final Map<EObject, Set<EObject>> dependents = new HashMap<EObject, Set<EObject>>();
+
+	/**
+	 * Adapter invalidating the values depending on a changed object
+	 */
+	private final Adapter invalidationAdapter = new AdapterImpl() {
+		@Override
+		public void notifyChanged(Notification notification) {
+			if (notification.isTouch() || !(notification.getNotifier() instanceof EObject))
+				return;
+			if (features.isEmpty() ? notification.getFeature() != null : features.contains(notification.getFeature()))
+				invalidateDependents((EObject) notification.getNotifier());
+		}
+	};
+
+	/**
+	 * Constructor
+	 * 
+	 * @param function :
+	 *            function computing the derived values
+	 * @param features :
+	 *            features read by the function, which changes invalidate the
+	 *            derived values. If none is given, any change invalidates them.
+	 */
+	public DerivedValueCache(Function<V> function, EStructuralFeature... features) {
+		this.function = function;
+		this.features = new HashSet<EStructuralFeature>(Arrays.asList(features));
+	}
+
+	/**
+	 * Returns the derived value of an object, computing it if it is not
+	 * memoized
+	 * 
+	 * @param object :
+	 *            object which value is read
+	 * @return derived value
+	 */
+	public synchronized V get(EObject object) {
+		if (values.containsKey(object))
+			return values.get(object);
+		Reader reader = new Reader();
+		reader.visited.add(object);
+		V value = function.compute(object, reader);
+		values.put(object, value);
+		dependencies.put(object, reader.visited);
+		for (EObject visited : reader.visited) {
+			Set<EObject> objects = dependents.get(visited);
+			if (objects == null) {
+				objects = new HashSet<EObject>();
+				dependents.put(visited, objects);
+				visited.eAdapters().add(invalidationAdapter);
+			}
+			objects.add(object);
+		}
+		return value;
+	}
+
+	/**
+	 * Forgets the memoized value of an object
+	 * 
+	 * @param object :
+	 *            object which value has to be computed again
+	 */
+	public synchronized void invalidate(EObject object) {
+		values.remove(object);
+		Set<EObject> visitedObjects = dependencies.remove(object);
+		if (visitedObjects == null)
+			return;
+		for (EObject visited : visitedObjects) {
+			Set<EObject> objects = dependents.get(visited);
+			if (objects != null && objects.remove(object) && objects.isEmpty()) {
+				dependents.remove(visited);
+				visited.eAdapters().remove(invalidationAdapter);
+			}
+		}
+	}
+
+	/**
+	 * Forgets all the memoized values, and stops observing the model
+	 */
+	public synchronized void clear() {
+		for (EObject visited : dependents.keySet())
+			visited.eAdapters().remove(invalidationAdapter);
+		values.clear();
+		dependencies.clear();
+		dependents.clear();
+	}
+
+	/**
+	 * Forgets the memoized values depending on a changed object
+	 */
+	private synchronized void invalidateDependents(EObject changed) {
+		Set<EObject> objects = dependents.get(changed);
+		if (objects == null)
+			return;
+		for (EObject object : objects.toArray(new EObject[objects.size()]))
+			invalidate(object);
+	}
+
+	/**
+	 * @return the objects which derived value is memoized
+	 */
+	public synchronized Set<EObject> getMemoizedObjects() {
+		return Collections.unmodifiableSet(new HashSet<EObject>(values.keySet()));
+	}
+}
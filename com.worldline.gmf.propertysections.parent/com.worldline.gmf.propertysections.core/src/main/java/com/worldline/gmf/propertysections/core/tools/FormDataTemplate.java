@@ -0,0 +1,532 @@
+/**
+ * GMF Properties View Tooling
+ *
+ * Copyright (C) 2013 Worldline or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package com.worldline.gmf.propertysections.core.tools;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FormAttachment;
+import org.eclipse.swt.layout.FormData;
+import org.eclipse.swt.widgets.Control;
+
+/**
+ * Reusable description of the form datas of a group of controls (a row made
+ * of a label, a field and a trailing button for instance). The template is
+ * described once with its builder, and then applied to as many groups of
+ * controls as needed, without evaluating the builder chain again.
+ * 
+ * Controls are identified by their slot index, which is their position in the
+ * array passed to the apply method. Sides can be attached to a percentage of
+ * the parent, or to the control of another slot.
+ * 
+ * <pre>
+ * FormDataTemplate row = FormDataTemplate.builder(2).slot(0).left().top().right(25).slot(1).leftTo(0).top()
+ * 		.right().build();
+ * row.apply(label, text);
+ * </pre>
+ * 
+ * @see FormDataBuilder
+ * 
+ * @since 1.0.1
+ * 
+ */
+public final class FormDataTemplate {
+
+	/*
+	 * Side indexes
+	 */
+	private static final int LEFT = 0, RIGHT = 1, TOP = 2, BOTTOM = 3;
+
+	/*
+	 * Marker used for sides attached to the parent
+	 */
+	private static final int NO_SLOT = -1;
+
+	/*
+	 * Precompiled attachments, for sides attached to the parent. As these
+	 * attachments are not altered by the layout, they are shared between all
+	 * the applications of this template.
+	 */
+	private final FormAttachment[][] attachments;
+
+	/*
+	 * Slots of the controls the sides are attached to
+	 */
+	private final int[][] targetSlots;
+
+	/*
+	 * Offsets of the sides attached to other controls
+	 */
+	private final int[][] targetOffsets;
+
+	/*
+	 * Preferred widths and heights of the slots
+	 */
+	private final int[] widths, heights;
+
+	/*
+	 * Creates the template from the builder values
+	 */
+	private FormDataTemplate(Builder builder) {
+		int slots = builder.numerators.length;
+		this.attachments = new FormAttachment[slots][4];
+		this.targetSlots = new int[slots][];
+		this.targetOffsets = new int[slots][];
+		this.widths = builder.widths.clone();
+		this.heights = builder.heights.clone();
+		for (int slot = 0; slot < slots; slot++) {
+			this.targetSlots[slot] = builder.targetSlots[slot].clone();
+			this.targetOffsets[slot] = builder.offsets[slot].clone();
+			for (int side = 0; side < 4; side++) {
+				if (builder.defined[slot][side] && builder.targetSlots[slot][side] == NO_SLOT)
+					this.attachments[slot][side] = new FormAttachment(builder.numerators[slot][side],
+							builder.offsets[slot][side]);
+			}
+		}
+	}
+
+	/**
+	 * Creates a new template builder, for the given number of controls, with
+	 * default offset value set to 5 px
+	 * 
+	 * @param slots
+	 *            number of controls handled by the template
+	 * @return new builder
+	 */
+	public static Builder builder(final int slots) {
+		return new Builder(slots);
+	}
+
+	/**
+	 * @return the number of controls handled by this template
+	 */
+	public int getSlotCount() {
+		return this.widths.length;
+	}
+
+	/**
+	 * Applies this template to the controls passed as parameter: a new form
+	 * data is set to each of them.
+	 * 
+	 * @param controls
+	 *            controls to layout, in the slot order.
+	 */
+	public void apply(final Control... controls) {
+		if (controls.length != this.widths.length)
+			throw new IllegalArgumentException();
+		for (int slot = 0; slot < controls.length; slot++) {
+			FormData data = new FormData();
+			data.width = this.widths[slot];
+			data.height = this.heights[slot];
+			data.left = this.attachment(slot, LEFT, controls);
+			data.right = this.attachment(slot, RIGHT, controls);
+			data.top = this.attachment(slot, TOP, controls);
+			data.bottom = this.attachment(slot, BOTTOM, controls);
+			controls[slot].setLayoutData(data);
+		}
+	}
+
+	/*
+	 * Returns the attachment of the side of a slot
+	 */
+	private FormAttachment attachment(final int slot, final int side, final Control[] controls) {
+		int target = this.targetSlots[slot][side];
+		if (target == NO_SLOT)
+			return this.attachments[slot][side];
+		return new FormAttachment(controls[target], this.targetOffsets[slot][side]);
+	}
+
+	/**
+	 * Builder describing a FormDataTemplate. Methods apply to the current slot,
+	 * selected with the slot(int) method. Attachment methods follow the same
+	 * conventions as in FormDataBuilder.
+	 */
+	public static final class Builder {
+
+		/*
+		 * Values of the attachments, per slot and per side
+		 */
+		private final int[][] numerators, offsets, targetSlots;
+
+		/*
+		 * Tells if the sides have been specified
+		 */
+		private final boolean[][] defined;
+
+		/*
+		 * Preferred widths and heights of the slots
+		 */
+		private final int[] widths, heights;
+
+		/*
+		 * Slot currently described
+		 */
+		private int slot;
+
+		/*
+		 * Internal value for default offset, value in px
+		 */
+		private int defaultOffset = 5;
+
+		/*
+		 * Creates a new builder for the given number of slots
+		 */
+		private Builder(final int slots) {
+			this.numerators = new int[slots][4];
+			this.offsets = new int[slots][4];
+			this.targetSlots = new int[slots][4];
+			this.defined = new boolean[slots][4];
+			this.widths = new int[slots];
+			this.heights = new int[slots];
+			for (int i = 0; i < slots; i++) {
+				Arrays.fill(this.targetSlots[i], NO_SLOT);
+				this.widths[i] = SWT.DEFAULT;
+				this.heights[i] = SWT.DEFAULT;
+			}
+		}
+
+		/**
+		 * Selects the slot the next methods apply to
+		 * 
+		 * @param slot
+		 *            index of the control in the template
+		 * @return this
+		 */
+		public Builder slot(final int slot) {
+			if (slot < 0 || slot >= this.widths.length)
+				throw new IndexOutOfBoundsException(String.valueOf(slot));
+			this.slot = slot;
+			return this;
+		}
+
+		/**
+		 * Updates the default offset value, saved internally
+		 * 
+		 * @param defaultOffset
+		 *            new default offset value in px
+		 * @return this
+		 */
+		public Builder setDefaultOffset(final int defaultOffset) {
+			this.defaultOffset = defaultOffset;
+			return this;
+		}
+
+		/*
+		 * Sets the side of the current slot, attached to the parent
+		 */
+		private Builder toParent(final int side, final int numerator, final int offset) {
+			this.defined[this.slot][side] = true;
+			this.numerators[this.slot][side] = numerator;
+			this.offsets[this.slot][side] = offset;
+			this.targetSlots[this.slot][side] = NO_SLOT;
+			return this;
+		}
+
+		/*
+		 * Sets the side of the current slot, attached to another slot
+		 */
+		private Builder toSlot(final int side, final int targetSlot, final int offset) {
+			if (targetSlot < 0 || targetSlot >= this.widths.length || targetSlot == this.slot)
+				throw new IndexOutOfBoundsException(String.valueOf(targetSlot));
+			this.defined[this.slot][side] = true;
+			this.offsets[this.slot][side] = offset;
+			this.targetSlots[this.slot][side] = targetSlot;
+			return this;
+		}
+
+		/**
+		 * Specifies the left side attachment of the current slot.
+		 * 
+		 * @param numerator
+		 *            the percentage of the position, in the parent control
+		 * @param offset
+		 *            the offset of the side from the position
+		 * @return this
+		 */
+		public Builder left(final int numerator, final int offset) {
+			return this.toParent(LEFT, numerator, offset);
+		}
+
+		/**
+		 * Specifies the left side attachment of the current slot. Spaced with
+		 * default offset
+		 * 
+		 * @param numerator
+		 *            the percentage of the position, in the parent control
+		 * @return this
+		 */
+		public Builder left(final int numerator) {
+			return this.left(numerator, this.defaultOffset);
+		}
+
+		/**
+		 * Attaches the left side of the current slot to the left side of the
+		 * parent control, with default offset
+		 * 
+		 * @return this
+		 */
+		public Builder left() {
+			return this.left(0, this.defaultOffset);
+		}
+
+		/**
+		 * Attaches the left side of the current slot to the control of another
+		 * slot.
+		 * 
+		 * @param targetSlot
+		 *            the slot of the control the side is attached to
+		 * @param offset
+		 *            the offset of the side from the control
+		 * @return this
+		 */
+		public Builder leftTo(final int targetSlot, final int offset) {
+			return this.toSlot(LEFT, targetSlot, offset);
+		}
+
+		/**
+		 * Attaches the left side of the current slot to the control of another
+		 * slot, with default offset.
+		 * 
+		 * @param targetSlot
+		 *            the slot of the control the side is attached to
+		 * @return this
+		 */
+		public Builder leftTo(final int targetSlot) {
+			return this.leftTo(targetSlot, this.defaultOffset);
+		}
+
+		/**
+		 * Specifies the right side attachment of the current slot.
+		 * 
+		 * @param numerator
+		 *            the percentage of the position, in the parent control
+		 * @param offset
+		 *            the offset of the side from the position
+		 * @return this
+		 */
+		public Builder right(final int numerator, final int offset) {
+			return this.toParent(RIGHT, numerator, offset);
+		}
+
+		/**
+		 * Specifies the right side attachment of the current slot. Spaced with
+		 * default offset
+		 * 
+		 * @param numerator
+		 *            the percentage of the position, in the parent control
+		 * @return this
+		 */
+		public Builder right(final int numerator) {
+			return this.right(numerator, -this.defaultOffset);
+		}
+
+		/**
+		 * Attaches the right side of the current slot to the right side of the
+		 * parent control, with default offset
+		 * 
+		 * @return this
+		 */
+		public Builder right() {
+			return this.right(100, -this.defaultOffset);
+		}
+
+		/**
+		 * Attaches the right side of the current slot to the control of
+		 * another slot.
+		 * 
+		 * @param targetSlot
+		 *            the slot of the control the side is attached to
+		 * @param offset
+		 *            the offset of the side from the control
+		 * @return this
+		 */
+		public Builder rightTo(final int targetSlot, final int offset) {
+			return this.toSlot(RIGHT, targetSlot, offset);
+		}
+
+		/**
+		 * Attaches the right side of the current slot to the control of
+		 * another slot, with default offset.
+		 * 
+		 * @param targetSlot
+		 *            the slot of the control the side is attached to
+		 * @return this
+		 */
+		public Builder rightTo(final int targetSlot) {
+			return this.rightTo(targetSlot, -this.defaultOffset);
+		}
+
+		/**
+		 * Specifies the top side attachment of the current slot.
+		 * 
+		 * @param numerator
+		 *            the percentage of the position, in the parent control
+		 * @param offset
+		 *            the offset of the side from the position
+		 * @return this
+		 */
+		public Builder top(final int numerator, final int offset) {
+			return this.toParent(TOP, numerator, offset);
+		}
+
+		/**
+		 * Specifies the top side attachment of the current slot. Spaced with
+		 * default offset
+		 * 
+		 * @param numerator
+		 *            the percentage of the position, in the parent control
+		 * @return this
+		 */
+		public Builder top(final int numerator) {
+			return this.top(numerator, this.defaultOffset);
+		}
+
+		/**
+		 * Attaches the top side of the current slot to the top side of the
+		 * parent control, with default offset
+		 * 
+		 * @return this
+		 */
+		public Builder top() {
+			return this.top(0, this.defaultOffset);
+		}
+
+		/**
+		 * Attaches the top side of the current slot to the control of another
+		 * slot.
+		 * 
+		 * @param targetSlot
+		 *            the slot of the control the side is attached to
+		 * @param offset
+		 *            the offset of the side from the control
+		 * @return this
+		 */
+		public Builder topTo(final int targetSlot, final int offset) {
+			return this.toSlot(TOP, targetSlot, offset);
+		}
+
+		/**
+		 * Attaches the top side of the current slot to the control of another
+		 * slot, with default offset.
+		 * 
+		 * @param targetSlot
+		 *            the slot of the control the side is attached to
+		 * @return this
+		 */
+		public Builder topTo(final int targetSlot) {
+			return this.topTo(targetSlot, this.defaultOffset);
+		}
+
+		/**
+		 * Specifies the bottom side attachment of the current slot.
+		 * 
+		 * @param numerator
+		 *            the percentage of the position, in the parent control
+		 * @param offset
+		 *            the offset of the side from the position
+		 * @return this
+		 */
+		public Builder bottom(final int numerator, final int offset) {
+			return this.toParent(BOTTOM, numerator, offset);
+		}
+
+		/**
+		 * Specifies the bottom side attachment of the current slot. Spaced with
+		 * default offset
+		 * 
+		 * @param numerator
+		 *            the percentage of the position, in the parent control
+		 * @return this
+		 */
+		public Builder bottom(final int numerator) {
+			return this.bottom(numerator, -this.defaultOffset);
+		}
+
+		/**
+		 * Attaches the bottom side of the current slot to the bottom side of
+		 * the parent control, with default offset
+		 * 
+		 * @return this
+		 */
+		public Builder bottom() {
+			return this.bottom(100, -this.defaultOffset);
+		}
+
+		/**
+		 * Attaches the bottom side of the current slot to the control of
+		 * another slot.
+		 * 
+		 * @param targetSlot
+		 *            the slot of the control the side is attached to
+		 * @param offset
+		 *            the offset of the side from the control
+		 * @return this
+		 */
+		public Builder bottomTo(final int targetSlot, final int offset) {
+			return this.toSlot(BOTTOM, targetSlot, offset);
+		}
+
+		/**
+		 * Attaches the bottom side of the current slot to the control of
+		 * another slot, with default offset.
+		 * 
+		 * @param targetSlot
+		 *            the slot of the control the side is attached to
+		 * @return this
+		 */
+		public Builder bottomTo(final int targetSlot) {
+			return this.bottomTo(targetSlot, -this.defaultOffset);
+		}
+
+		/**
+		 * Specifies the preferred width of the current slot, in pixels
+		 * 
+		 * @param width
+		 * @return this
+		 */
+		public Builder width(final int width) {
+			this.widths[this.slot] = width;
+			return this;
+		}
+
+		/**
+		 * Specifies the preferred height of the current slot, in pixels
+		 * 
+		 * @param height
+		 * @return this
+		 */
+		public Builder height(final int height) {
+			this.heights[this.slot] = height;
+			return this;
+		}
+
+		/**
+		 * Compiles the described layout into a reusable template. The builder
+		 * can be reused afterwards, without altering the built template.
+		 * 
+		 * @return new template
+		 */
+		public FormDataTemplate build() {
+			return new FormDataTemplate(this);
+		}
+	}
+}
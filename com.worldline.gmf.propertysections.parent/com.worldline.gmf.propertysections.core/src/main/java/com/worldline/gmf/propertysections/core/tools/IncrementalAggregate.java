@@ -0,0 +1,173 @@
+/**
+ * GMF Properties View Tooling
+ *
+ * Copyright (C) 2013 Worldline or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package com.worldline.gmf.propertysections.core.tools;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+/**
+ * Aggregate value over the containment subtree of a root EObject (the root
+ * itself excluded), kept up to date from the notifications of the subtree
+ * instead of traversing it on each refresh.
+ * 
+ * Each element of the subtree brings a contribution, computed by
+ * getContribution(). When an element enters or leaves the subtree, its
+ * contribution is added to or removed from the aggregate; when one of its
+ * features changes, its contribution is computed again. The cost of a change
+ * is therefore independent of the size of the subtree.
+ * 
+ * Aggregates are usually registered in a zone with
+ * AbstractZone.addAggregate(), which moves them to the selected EObject.
+ * 
+ * @param <C>
+ *            type of the contributions
+ * 
+ * @since 1.0.1
+ */
+public abstract class IncrementalAggregate<C> extends EContentAdapter {
+
+	/**
+	 * Root of the aggregated subtree
+	 */
+	private EObject root;
+
+	/**
+	 * Contributions of the elements of the subtree. Elements not
+	 * contributing are mapped to null.
+	 */
+	private final Map<EObject, C> contributions = new HashMap<EObject, C>();
+
+	/**
+	 * Moves this aggregate to another subtree. The contributions of the
+	 * previous subtree are removed, and the ones of the new subtree added.
+	 * 
+	 * @param root :
+	 *            root of the subtree to aggregate, or null to detach this
+	 *            aggregate
+	 */
+	public final synchronized void setRoot(EObject root) {
+		if (root == this.root)
+			return;
+		if (this.root != null)
+			this.root.eAdapters().remove(this);
+		this.root = root;
+		if (root != null)
+			root.eAdapters().add(this);
+	}
+
+	/**
+	 * @return root of the aggregated subtree, or null if detached
+	 */
+	public final EObject getRoot() {
+		return root;
+	}
+
+	/**
+	 * Computes the contribution of an element of the subtree
+	 * 
+	 * @param element :
+	 *            element of the subtree
+	 * @return contribution of the element, or null if it does not contribute
+	 */
+	protected abstract C getContribution(EObject element);
+
+	/**
+	 * Adds a non-null contribution to the aggregate
+	 * 
+	 * @param contribution :
+	 *            contribution to add
+	 */
+	protected abstract void add(C contribution);
+
+	/**
+	 * Removes a non-null contribution, previously added, from the aggregate
+	 * 
+	 * @param contribution :
+	 *            contribution to remove
+	 */
+	protected abstract void remove(C contribution);
+
+	/**
+	 * @return the current value of the aggregate
+	 */
+	public abstract Object getValue();
+
+	/**
+	 * Adds the contribution of an element entering the subtree
+	 */
+	@Override
+	protected synchronized void setTarget(EObject target) {
+		super.setTarget(target);
+		if (target != root && !contributions.containsKey(target)) {
+			C contribution = getContribution(target);
+			contributions.put(target, contribution);
+			if (contribution != null)
+				add(contribution);
+		}
+	}
+
+	/**
+	 * Removes the contribution of an element leaving the subtree
+	 */
+	@Override
+	protected synchronized void unsetTarget(EObject target) {
+		super.unsetTarget(target);
+		if (contributions.containsKey(target)) {
+			C contribution = contributions.remove(target);
+			if (contribution != null)
+				remove(contribution);
+		}
+	}
+
+	/**
+	 * Computes again the contribution of an element which feature changed.
+	 * Touches are ignored, except the resolution of a proxy, which may change
+	 * the contribution without changing the value of the feature.
+	 */
+	@Override
+	public synchronized void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+		Object notifier = notification.getNotifier();
+		Object feature = notification.getFeature();
+		if ((notification.isTouch() && notification.getEventType() != Notification.RESOLVE)
+				|| !(feature instanceof EStructuralFeature)
+				|| (feature instanceof EReference && ((EReference) feature).isContainment())
+				|| !contributions.containsKey(notifier))
+			return;
+		EObject element = (EObject) notifier;
+		C oldContribution = contributions.get(element);
+		C newContribution = getContribution(element);
+		if (oldContribution == null ? newContribution == null : oldContribution.equals(newContribution))
+			return;
+		contributions.put(element, newContribution);
+		if (oldContribution != null)
+			remove(oldContribution);
+		if (newContribution != null)
+			add(newContribution);
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * GMF Properties View Tooling
+ *
+ * Copyright (C) 2013 Worldline or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package com.worldline.gmf.propertysections.core.tools;
+
+import java.util.TreeMap;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Incremental aggregate keeping the minimum and the maximum of a comparable
+ * attribute over the elements of a containment subtree. Values are counted
+ * in a sorted map, so that removing the current minimum or maximum does not
+ * require to traverse the subtree again: a change costs O(log n), n being the
+ * number of distinct values.
+ * 
+ * @since 1.0.1
+ */
+public class MinMaxAggregate extends IncrementalAggregate<Comparable<?>> {
+
+	/**
+	 * Type of the aggregated elements, null for all of them
+	 */
+	private final EClass type;
+
+	/**
+	 * Aggregated attribute
+	 */
+	private final EAttribute attribute;
+
+	/**
+	 * Number of occurrences of each value
+	 */
+	private final TreeMap<Comparable<?>, Integer> occurrences = new TreeMap<Comparable<?>, Integer>();
+
+	/**
+	 * Constructor
+	 * 
+	 * @param type :
+	 *            type of the aggregated elements, or null for all the elements
+	 *            of the subtree owning the attribute
+	 * @param attribute :
+	 *            single-valued attribute which values are mutually comparable
+	 */
+	public MinMaxAggregate(EClass type, EAttribute attribute) {
+		this.type = type;
+		this.attribute = attribute;
+	}
+
+	@Override
+	protected final Comparable<?> getContribution(EObject element) {
+		if ((type != null && !type.isInstance(element)) || element.eClass().getFeatureID(attribute) < 0)
+			return null;
+		Object value = element.eGet(attribute);
+		return value instanceof Comparable<?> ? (Comparable<?>) value : null;
+	}
+
+	@Override
+	protected final void add(Comparable<?> contribution) {
+		Integer count = occurrences.get(contribution);
+		occurrences.put(contribution, Integer.valueOf(count == null ? 1 : count.intValue() + 1));
+	}
+
+	@Override
+	protected final void remove(Comparable<?> contribution) {
+		Integer count = occurrences.get(contribution);
+		if (count == null)
+			return;
+		if (count.intValue() > 1)
+			occurrences.put(contribution, Integer.valueOf(count.intValue() - 1));
+		else
+			occurrences.remove(contribution);
+	}
+
+	/**
+	 * @return the minimum value of the attribute, or null if no element
+	 *         contributes
+	 */
+	public final synchronized Object getMin() {
+		return occurrences.isEmpty() ? null : occurrences.firstKey();
+	}
+
+	/**
+	 * @return the maximum value of the attribute, or null if no element
+	 *         contributes
+	 */
+	public final synchronized Object getMax() {
+		return occurrences.isEmpty() ? null : occurrences.lastKey();
+	}
+
+	/**
+	 * @return the minimum value of the attribute
+	 */
+	@Override
+	public Object getValue() {
+		return getMin();
+	}
+}
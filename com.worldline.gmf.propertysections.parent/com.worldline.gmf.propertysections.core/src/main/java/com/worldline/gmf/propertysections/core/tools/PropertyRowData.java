@@ -0,0 +1,89 @@
+/**
+ * GMF Properties View Tooling
+ *
+ * Copyright (C) 2013 Worldline or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package com.worldline.gmf.propertysections.core.tools;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Control;
+
+/**
+ * Layout data of the controls laid out by a PropertyRowLayout.
+ * 
+ * @see PropertyRowLayout
+ * @see PropertyRowDataBuilder
+ * 
+ * @since 1.0.1
+ * 
+ */
+public final class PropertyRowData {
+
+	/**
+	 * Number of columns the control spans. Default value is 1.
+	 */
+	public int span = 1;
+
+	/**
+	 * Preferred width, in pixels. Default value is SWT.DEFAULT, in which case
+	 * the width computed by the control is used.
+	 */
+	public int widthHint = SWT.DEFAULT;
+
+	/**
+	 * Preferred height, in pixels. Default value is SWT.DEFAULT, in which case
+	 * the height computed by the control is used.
+	 */
+	public int heightHint = SWT.DEFAULT;
+
+	/**
+	 * Tells if the control should be ignored by the layout. Default value is
+	 * false.
+	 */
+	public boolean exclude = false;
+
+	/*
+	 * Cached preferred size of the control
+	 */
+	private int cacheWidth = -1, cacheHeight = -1;
+
+	/*
+	 * Returns the preferred size of the control, computed once until the
+	 * cache is flushed
+	 */
+	Point computeSize(Control control, boolean flushCache) {
+		if (flushCache)
+			this.flushCache();
+		if (this.cacheWidth == -1 || this.cacheHeight == -1) {
+			Point size = control.computeSize(this.widthHint, this.heightHint, flushCache);
+			this.cacheWidth = size.x;
+			this.cacheHeight = size.y;
+		}
+		return new Point(this.cacheWidth, this.cacheHeight);
+	}
+
+	/*
+	 * Flushes the cached preferred size
+	 */
+	void flushCache() {
+		this.cacheWidth = -1;
+		this.cacheHeight = -1;
+	}
+}
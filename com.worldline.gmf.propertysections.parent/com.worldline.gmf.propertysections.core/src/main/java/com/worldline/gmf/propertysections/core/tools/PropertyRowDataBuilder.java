@@ -0,0 +1,104 @@
+/**
+ * GMF Properties View Tooling
+ *
+ * Copyright (C) 2013 Worldline or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package com.worldline.gmf.propertysections.core.tools;
+
+import org.eclipse.swt.widgets.Control;
+
+/**
+ * This builder is able to create, populate and link a PropertyRowData to a SWT
+ * Control object, laid out by a PropertyRowLayout.
+ * 
+ * @see PropertyRowLayout
+ * @see FormDataBuilder
+ * 
+ * @since 1.0.1
+ * 
+ */
+public class PropertyRowDataBuilder {
+
+	/*
+	 * Internal PropertyRowData value
+	 */
+	private final PropertyRowData data;
+
+	/*
+	 * Creates new PropertyRowData builder instance, on the provided object
+	 */
+	private PropertyRowDataBuilder(Control control) {
+		this.data = new PropertyRowData();
+		control.setLayoutData(this.data);
+	}
+
+	/**
+	 * Creates new PropertyRowData builder instance, applied on the provided
+	 * object
+	 */
+	public static PropertyRowDataBuilder on(final Control control) {
+		return new PropertyRowDataBuilder(control);
+	}
+
+	/**
+	 * Specifies the number of columns spanned by the control
+	 * 
+	 * @param span
+	 *            number of columns
+	 * @return this
+	 */
+	public PropertyRowDataBuilder span(final int span) {
+		this.data.span = span;
+		return this;
+	}
+
+	/**
+	 * Specifies the preferred width in pixels
+	 * 
+	 * @param width
+	 * @return this
+	 */
+	public PropertyRowDataBuilder width(final int width) {
+		this.data.widthHint = width;
+		return this;
+	}
+
+	/**
+	 * Specifies the preferred height in pixels
+	 * 
+	 * @param height
+	 * @return this
+	 */
+	public PropertyRowDataBuilder height(final int height) {
+		this.data.heightHint = height;
+		return this;
+	}
+
+	/**
+	 * Specifies whether the control is ignored by the layout
+	 * 
+	 * @param exclude
+	 *            true to ignore the control
+	 * @return this
+	 */
+	public PropertyRowDataBuilder exclude(final boolean exclude) {
+		this.data.exclude = exclude;
+		return this;
+	}
+}
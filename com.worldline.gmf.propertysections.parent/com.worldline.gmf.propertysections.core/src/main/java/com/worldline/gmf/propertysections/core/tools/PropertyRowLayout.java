@@ -0,0 +1,281 @@
+/**
+ * GMF Properties View Tooling
+ *
+ * Copyright (C) 2013 Worldline or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package com.worldline.gmf.propertysections.core.tools;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Layout;
+
+/**
+ * Layout dedicated to property rows, as an alternative to FormLayout. Children
+ * are placed in rows, from left to right, in the following columns:
+ * <ul>
+ * <li>the first column holds the labels. Its width is the widest label of all
+ * the rows, so that values are aligned,</li>
+ * <li>the second column holds the values, and grabs the remaining width,</li>
+ * <li>the next columns hold trailing controls (buttons for instance), with
+ * their preferred width.</li>
+ * </ul>
+ * With a single column, all children are values taking the full width.
+ * 
+ * Contrary to FormLayout, no attachment has to be resolved: sizes of the
+ * children, column widths and row heights are computed once and kept until the
+ * composite is laid out with changes, so that resizing only moves the
+ * controls.
+ * 
+ * @see PropertyRowData
+ * @see PropertyRowDataBuilder
+ * 
+ * @since 1.0.1
+ * 
+ */
+public class PropertyRowLayout extends Layout {
+
+	/**
+	 * Number of columns of each row
+	 */
+	public int columns;
+
+	/**
+	 * Margins, in pixels, around the rows
+	 */
+	public int marginWidth = 5, marginHeight = 5;
+
+	/**
+	 * Spacing, in pixels, between columns and rows
+	 */
+	public int horizontalSpacing = 5, verticalSpacing = 5;
+
+	/**
+	 * Width of the label column, in pixels. Default value is SWT.DEFAULT, in
+	 * which case the widest label is used.
+	 */
+	public int labelWidth = SWT.DEFAULT;
+
+	/*
+	 * Children for which the grid has been computed
+	 */
+	private Control[] cachedChildren;
+
+	/*
+	 * Cached grid, computed from the cached children
+	 */
+	private Grid cachedGrid;
+
+	/**
+	 * Creates a layout with a label, a value and a trailing column.
+	 */
+	public PropertyRowLayout() {
+		this(3);
+	}
+
+	/**
+	 * Creates a layout with the given number of columns.
+	 * 
+	 * @param columns
+	 *            number of columns of each row
+	 */
+	public PropertyRowLayout(int columns) {
+		this.columns = Math.max(1, columns);
+	}
+
+	/**
+	 * @see org.eclipse.swt.widgets.Layout#computeSize(org.eclipse.swt.widgets.Composite,
+	 *      int, int, boolean)
+	 */
+	@Override
+	protected Point computeSize(Composite composite, int wHint, int hHint, boolean flushCache) {
+		Grid grid = this.getGrid(composite, flushCache);
+		int width = wHint;
+		if (width == SWT.DEFAULT) {
+			width = 2 * this.marginWidth + this.horizontalSpacing * (this.columns - 1);
+			for (int column = 0; column < this.columns; column++)
+				width += grid.columnWidths[column];
+		}
+		int height = hHint;
+		if (height == SWT.DEFAULT) {
+			height = 2 * this.marginHeight + this.verticalSpacing * Math.max(0, grid.rowHeights.length - 1);
+			for (int rowHeight : grid.rowHeights)
+				height += rowHeight;
+		}
+		return new Point(width, height);
+	}
+
+	/**
+	 * @see org.eclipse.swt.widgets.Layout#layout(org.eclipse.swt.widgets.Composite,
+	 *      boolean)
+	 */
+	@Override
+	protected void layout(Composite composite, boolean flushCache) {
+		Grid grid = this.getGrid(composite, flushCache);
+		Rectangle area = composite.getClientArea();
+
+		int valueColumn = this.getValueColumn();
+		int[] widths = grid.columnWidths.clone();
+		int fixedWidth = 2 * this.marginWidth + this.horizontalSpacing * (this.columns - 1);
+		for (int column = 0; column < this.columns; column++)
+			if (column != valueColumn)
+				fixedWidth += widths[column];
+		widths[valueColumn] = Math.max(0, area.width - fixedWidth);
+
+		int[] offsets = new int[this.columns];
+		int x = area.x + this.marginWidth;
+		for (int column = 0; column < this.columns; column++) {
+			offsets[column] = x;
+			x += widths[column] + this.horizontalSpacing;
+		}
+
+		int[] rowOffsets = new int[grid.rowHeights.length];
+		int y = area.y + this.marginHeight;
+		for (int row = 0; row < rowOffsets.length; row++) {
+			rowOffsets[row] = y;
+			y += grid.rowHeights[row] + this.verticalSpacing;
+		}
+
+		for (Cell cell : grid.cells) {
+			int width = widths[cell.column];
+			for (int column = cell.column + 1; column < cell.column + cell.span; column++)
+				width += this.horizontalSpacing + widths[column];
+			int rowHeight = grid.rowHeights[cell.row];
+			int height = Math.min(cell.height, rowHeight);
+			cell.control.setBounds(offsets[cell.column], rowOffsets[cell.row] + (rowHeight - height) / 2, width,
+					height);
+		}
+	}
+
+	/**
+	 * @see org.eclipse.swt.widgets.Layout#flushCache(org.eclipse.swt.widgets.Control)
+	 */
+	@Override
+	protected boolean flushCache(Control control) {
+		Object data = control.getLayoutData();
+		if (data instanceof PropertyRowData)
+			((PropertyRowData) data).flushCache();
+		this.cachedGrid = null;
+		return true;
+	}
+
+	/*
+	 * Returns the index of the column grabbing the remaining width
+	 */
+	private int getValueColumn() {
+		return this.columns > 1 ? 1 : 0;
+	}
+
+	/*
+	 * Returns the grid of the composite, computed again only if the children
+	 * changed or if the cache is flushed
+	 */
+	private Grid getGrid(Composite composite, boolean flushCache) {
+		Control[] children = composite.getChildren();
+		if (!flushCache && this.cachedGrid != null && this.cachedGrid.columnWidths.length == this.columns
+				&& Arrays.equals(children, this.cachedChildren))
+			return this.cachedGrid;
+
+		Cell[] cells = new Cell[children.length];
+		int[] columnWidths = new int[this.columns];
+		int[] rowHeights = new int[children.length];
+		int count = 0, row = 0, column = 0;
+		for (Control child : children) {
+			PropertyRowData data = this.getData(child);
+			if (data.exclude)
+				continue;
+			int span = Math.max(1, Math.min(data.span, this.columns));
+			if (column + span > this.columns) {
+				row++;
+				column = 0;
+			}
+			Point size = data.computeSize(child, flushCache);
+			Cell cell = new Cell(child, row, column, span, size.y);
+			cells[count++] = cell;
+			if (span == 1)
+				columnWidths[column] = Math.max(columnWidths[column], size.x);
+			rowHeights[row] = Math.max(rowHeights[row], size.y);
+			column += span;
+			if (column == this.columns) {
+				row++;
+				column = 0;
+			}
+		}
+		if (this.labelWidth != SWT.DEFAULT && this.columns > 1)
+			columnWidths[0] = this.labelWidth;
+		int rows = column == 0 ? row : row + 1;
+
+		this.cachedChildren = children;
+		this.cachedGrid = new Grid(Arrays.copyOf(cells, count), columnWidths, Arrays.copyOf(rowHeights, rows));
+		return this.cachedGrid;
+	}
+
+	/*
+	 * Returns the layout data of the control, created if missing
+	 */
+	private PropertyRowData getData(Control control) {
+		Object data = control.getLayoutData();
+		if (data instanceof PropertyRowData)
+			return (PropertyRowData) data;
+		PropertyRowData rowData = new PropertyRowData();
+		if (data == null)
+			control.setLayoutData(rowData);
+		return rowData;
+	}
+
+	/*
+	 * Computed positions of the children
+	 */
+	private static final class Grid {
+
+		private final Cell[] cells;
+
+		private final int[] columnWidths;
+
+		private final int[] rowHeights;
+
+		private Grid(Cell[] cells, int[] columnWidths, int[] rowHeights) {
+			this.cells = cells;
+			this.columnWidths = columnWidths;
+			this.rowHeights = rowHeights;
+		}
+	}
+
+	/*
+	 * Computed position of a child
+	 */
+	private static final class Cell {
+
+		private final Control control;
+
+		private final int row, column, span, height;
+
+		private Cell(Control control, int row, int column, int span, int height) {
+			this.control = control;
+			this.row = row;
+			this.column = column;
+			this.span = span;
+			this.height = height;
+		}
+	}
+}
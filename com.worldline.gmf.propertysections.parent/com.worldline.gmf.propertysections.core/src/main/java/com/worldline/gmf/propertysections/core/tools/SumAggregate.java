@@ -0,0 +1,134 @@
+/**
+ * GMF Properties View Tooling
+ *
+ * Copyright (C) 2013 Worldline or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+package com.worldline.gmf.propertysections.core.tools;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Incremental aggregate summing a numeric attribute over the elements of a
+ * containment subtree. Elements not owning the attribute, or holding a null
+ * value, do not contribute.
+ * 
+ * Integral values (byte, short, int, long) are summed exactly, in a long.
+ * Other values are summed in a double: since each change adds and removes
+ * contributions, this part of the sum may drift by rounding errors from the
+ * sum computed from scratch.
+ * 
+ * @since 1.0.1
+ */
+public class SumAggregate extends IncrementalAggregate<Number> {
+
+	/**
+	 * Type of the summed elements, null for all of them
+	 */
+	private final EClass type;
+
+	/**
+	 * Summed attribute
+	 */
+	private final EAttribute attribute;
+
+	/**
+	 * Current sum of the integral contributions
+	 */
+	private volatile long integralSum;
+
+	/**
+	 * Current sum of the other contributions
+	 */
+	private volatile double decimalSum;
+
+	/**
+	 * Number of contributions which are not integral
+	 */
+	private volatile int decimalCount;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param type :
+	 *            type of the summed elements, or null for all the elements of
+	 *            the subtree owning the attribute
+	 * @param attribute :
+	 *            single-valued numeric attribute to sum
+	 */
+	public SumAggregate(EClass type, EAttribute attribute) {
+		this.type = type;
+		this.attribute = attribute;
+	}
+
+	@Override
+	protected final Number getContribution(EObject element) {
+		if ((type != null && !type.isInstance(element)) || element.eClass().getFeatureID(attribute) < 0)
+			return null;
+		Object value = element.eGet(attribute);
+		return value instanceof Number ? (Number) value : null;
+	}
+
+	@Override
+	protected final void add(Number contribution) {
+		if (isIntegral(contribution))
+			integralSum += contribution.longValue();
+		else {
+			decimalSum += contribution.doubleValue();
+			decimalCount++;
+		}
+	}
+
+	@Override
+	protected final void remove(Number contribution) {
+		if (isIntegral(contribution))
+			integralSum -= contribution.longValue();
+		else if (--decimalCount == 0)
+			decimalSum = 0;
+		else
+			decimalSum -= contribution.doubleValue();
+	}
+
+	/**
+	 * Tells whether a contribution is summed exactly
+	 */
+	private static boolean isIntegral(Number contribution) {
+		return contribution instanceof Integer || contribution instanceof Long || contribution instanceof Short
+				|| contribution instanceof Byte;
+	}
+
+	/**
+	 * @return the sum of the attribute over the subtree
+	 */
+	public final double getSum() {
+		return integralSum + decimalSum;
+	}
+
+	/**
+	 * @return the sum of the attribute over the subtree: a Long if all the
+	 *         contributions are integral, a Double otherwise
+	 */
+	@Override
+	public Object getValue() {
+		if (decimalCount == 0)
+			return Long.valueOf(integralSum);
+		return Double.valueOf(integralSum + decimalSum);
+	}
+}